@@ -0,0 +1,196 @@
+package com.example.backend.bootstrap;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.example.backend.entity.MedicineMaster;
+import com.opencsv.exceptions.CsvValidationException;
+
+/**
+ * Three-stage register ingestion: reader -> parallel workers -> single writer.
+ *
+ * - Reader: pulls raw CSV rows and hands them out in chunks through a bounded queue.
+ * - Workers: normalize/validate each row (cleaning, regNo truncation, content hash) and claim its regNo
+ *   in a concurrent map regNo -> lowest row number seen. regNos are compared case-insensitively (regNoKey),
+ *   as the unique index on medicine_master.reg_no does.
+ * - Writer (the calling thread): takes processed chunks back in file order and passes each row to the sink
+ *   only if it holds the claim for its regNo. All earlier rows have been claimed by then, so the
+ *   first occurrence wins exactly as in a sequential read.
+ *
+ * Backpressure: the reader needs a permit per chunk and the writer returns it once the chunk is written,
+ * so at most maxInFlight chunks exist at any time whatever the file size (plus the regNo map).
+ */
+public final class CatalogIngestPipeline {
+
+    @FunctionalInterface
+    public interface RowReader {
+        // null at end of input
+        String[] next() throws IOException, CsvValidationException;
+    }
+
+    public record Stats(long rowsRead, long accepted, long skippedDuplicates, long invalid) {
+    }
+
+    private record Chunk(long seq, long firstRow, List<String[]> rows) {
+    }
+
+    private record Candidate(long row, MedicineMaster medicine) {
+    }
+
+    private record Processed(long seq, List<Candidate> candidates) {
+    }
+
+    private static final Chunk END = new Chunk(-1, -1, List.of());
+
+    private final int workers;
+    private final int chunkSize;
+    private final int maxInFlight;
+
+    public CatalogIngestPipeline(int workers, int chunkSize) {
+        this.workers = Math.max(1, workers);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxInFlight = this.workers * 4;
+    }
+
+    // duplicate-detection key of a regNo: case-folded, matching the case-insensitive unique index
+    public static String regNoKey(String regNo) {
+        return regNo.toUpperCase(Locale.ROOT);
+    }
+
+    // workers = available cores minus one for the reader/writer, at least one
+    public static int defaultWorkers() {
+        return Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    }
+
+    /**
+     * Runs the pipeline to completion. normalizer returns null for rows to drop (incomplete, no regNo);
+     * sink is only ever called on the calling thread, in file order.
+     */
+    public Stats run(RowReader reader, Function<String[], MedicineMaster> normalizer, Consumer<MedicineMaster> sink)
+            throws IOException, CsvValidationException {
+        BlockingQueue<Chunk> toWorkers = new ArrayBlockingQueue<>(maxInFlight + workers);
+        BlockingQueue<Processed> toWriter = new ArrayBlockingQueue<>(maxInFlight);
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        Map<String, Long> firstRowByRegNo = new ConcurrentHashMap<>();
+
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        AtomicLong totalChunks = new AtomicLong(-1);
+        AtomicLong rowsRead = new AtomicLong();
+        AtomicLong invalid = new AtomicLong();
+
+        ExecutorService threads = Executors.newFixedThreadPool(workers + 1);
+        try {
+            threads.submit(() -> {
+                try {
+                    long seq = 0;
+                    long row = 0;
+                    List<String[]> chunk = new ArrayList<>(chunkSize);
+                    String[] c;
+                    while ((c = reader.next()) != null) {
+                        chunk.add(c);
+                        if (chunk.size() == chunkSize) {
+                            inFlight.acquire();
+                            toWorkers.put(new Chunk(seq++, row, chunk));
+                            row += chunk.size();
+                            chunk = new ArrayList<>(chunkSize);
+                        }
+                    }
+                    if (!chunk.isEmpty()) {
+                        inFlight.acquire();
+                        toWorkers.put(new Chunk(seq++, row, chunk));
+                        row += chunk.size();
+                    }
+                    rowsRead.set(row);
+                    totalChunks.set(seq);
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    for (int i = 0; i < workers; i++) {
+                        toWorkers.offer(END);
+                    }
+                }
+            });
+
+            for (int i = 0; i < workers; i++) {
+                threads.submit(() -> {
+                    try {
+                        Chunk chunk;
+                        while ((chunk = toWorkers.take()) != END) {
+                            List<Candidate> candidates = new ArrayList<>(chunk.rows().size());
+                            long row = chunk.firstRow();
+                            for (String[] c : chunk.rows()) {
+                                MedicineMaster m = normalizer.apply(c);
+                                if (m == null) {
+                                    invalid.incrementAndGet();
+                                } else {
+                                    firstRowByRegNo.merge(regNoKey(m.getRegNo()), row, Math::min);
+                                    candidates.add(new Candidate(row, m));
+                                }
+                                row++;
+                            }
+                            toWriter.put(new Processed(chunk.seq(), candidates));
+                        }
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                    }
+                });
+            }
+
+            // writer: re-order chunks by seq, then emit rows that own their regNo
+            Map<Long, Processed> pending = new HashMap<>();
+            long next = 0;
+            long accepted = 0;
+            long duplicates = 0;
+            while (totalChunks.get() < 0 || next < totalChunks.get()) {
+                rethrow(failure.get());
+                Processed p = toWriter.poll(100, TimeUnit.MILLISECONDS);
+                if (p != null) pending.put(p.seq(), p);
+
+                Processed ready;
+                while ((ready = pending.remove(next)) != null) {
+                    for (Candidate candidate : ready.candidates()) {
+                        if (firstRowByRegNo.get(regNoKey(candidate.medicine().getRegNo())) == candidate.row()) {
+                            sink.accept(candidate.medicine());
+                            accepted++;
+                        } else {
+                            duplicates++;
+                        }
+                    }
+                    inFlight.release();
+                    next++;
+                }
+            }
+            rethrow(failure.get());
+            return new Stats(rowsRead.get(), accepted, duplicates, invalid.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Catalog ingestion interrupted", e);
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+    private static void rethrow(Throwable failure) throws IOException, CsvValidationException {
+        if (failure == null) return;
+        if (failure instanceof IOException e) throw e;
+        if (failure instanceof CsvValidationException e) throw e;
+        if (failure instanceof RuntimeException e) throw e;
+        if (failure instanceof Error e) throw e;
+        throw new IllegalStateException("Catalog ingestion failed", failure);
+    }
+}
@@ -1,121 +1,333 @@
 package com.example.backend.bootstrap;
 
+import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.nio.charset.StandardCharsets;
-import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.example.backend.entity.CatalogStatus;
 import com.example.backend.entity.MedicineMaster;
+import com.example.backend.event.CatalogChangedEvent;
 import com.example.backend.repository.MedicineMasterRepository;
+import com.example.backend.service.CatalogImportStatusService;
+import com.example.backend.service.IdAllocatorService;
 import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
 
-import lombok.RequiredArgsConstructor;
-
+/**
+ * Loads the medicine register (app.catalog.import.resource, default data/medicine_master.csv) into medicine_master.
+ *
+ * Empty table, mode "jdbc" (default): rows are streamed from the CSV straight into JDBC batches of
+ * app.catalog.import.batch-size rows, each committed on its own. No entities are kept, so memory
+ * stays flat whatever the register size; with rewriteBatchedStatements each batch is sent as
+ * multi-row INSERTs.
+ * Empty table, mode "jpa": the original saveAll() path in a single transaction, kept for comparison.
+ *
+ * Non-empty table (app.catalog.import.sync=true): differential sync. Every register row carries a
+ * content hash; one query loads regNo -> (id, hash, status), the CSV is compared against it in one pass,
+ * and only new rows are inserted, changed rows updated, and register rows that left the CSV archived.
+ * Rows created by admins have no hash and are never archived by the sync. Only rows the sync archived
+ * itself (archived_by_sync) are re-activated when they come back; a status set by an admin is kept.
+ * regNos are matched case-insensitively, like the unique index on reg_no.
+ *
+ * Both run on a background thread; progress and readiness are reported to CatalogImportStatusService.
+ * The register is parsed by CatalogIngestPipeline (reader -> parallel workers -> this writer), so CSV parsing
+ * and hashing overlap with the database writes.
+ */
 @Component
-@RequiredArgsConstructor
 public class MedicineCatalogImporter implements CommandLineRunner {
 
+    private static final Logger log = LoggerFactory.getLogger(MedicineCatalogImporter.class);
+
+    private static final int JPA_BATCH_SIZE = 100;
+    private static final int PROGRESS_EVERY = 10_000;
+    private static final int CHUNK_SIZE = 512;
+
+    private static final String INSERT_SQL = """
+            insert into medicine_master (id, generic_name, brand_name, manufacturer, country, reg_no, dosage, status, content_hash)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String UPDATE_SQL = """
+            update medicine_master
+            set generic_name = ?, brand_name = ?, manufacturer = ?, country = ?, dosage = ?, status = ?, content_hash = ?,
+                archived_by_sync = null
+            where id = ?
+            """;
+
+    private static final String ARCHIVE_SQL = "update medicine_master set status = ?, archived_by_sync = true where id = ?";
+
     private final MedicineMasterRepository medicineRepo;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final IdAllocatorService idAllocatorService;
+    private final CatalogImportStatusService importStatusService;
+    private final String mode;
+    private final int batchSize;
+    private final boolean sync;
+    private final int workers;
+    private final String resource;
 
-    @Override
-    @Transactional
-    public void run(String... args) throws Exception {
+    public MedicineCatalogImporter(
+            MedicineMasterRepository medicineRepo,
+            ApplicationEventPublisher eventPublisher,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            IdAllocatorService idAllocatorService,
+            CatalogImportStatusService importStatusService,
+            @Value("${app.catalog.import.mode:jdbc}") String mode,
+            @Value("${app.catalog.import.batch-size:2000}") int batchSize,
+            @Value("${app.catalog.import.sync:true}") boolean sync,
+            @Value("${app.catalog.import.workers:0}") int workers,
+            @Value("${app.catalog.import.resource:data/medicine_master.csv}") String resource
+    ) {
+        this.medicineRepo = medicineRepo;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.idAllocatorService = idAllocatorService;
+        this.importStatusService = importStatusService;
+        this.mode = mode;
+        this.batchSize = Math.max(1, batchSize);
+        this.sync = sync;
+        this.workers = workers > 0 ? workers : CatalogIngestPipeline.defaultWorkers();
+        this.resource = resource;
+    }
 
-        // If already imported once, skip
-        long count = medicineRepo.count();
-        if (count > 0) {
-            System.out.println("medicine_master already has data. Skipping CSV import.");
-            return;
+    private record ImportStats(int imported, int skippedDuplicates) {
+    }
+
+    record SyncStats(int inserted, int updated, int archived, int unchanged) {
+        boolean changed() {
+            return inserted + updated + archived > 0;
         }
+    }
 
-        // Track regNos we already saw (also catches duplicates inside CSV)
-        Set<String> seenRegNos = new HashSet<>();
+    // stored state of one medicine, as needed by the sync
+    private record StoredRow(int id, String contentHash, int status, boolean archivedBySync) {
+    }
 
-        var resource = new ClassPathResource("data/medicine_master.csv");
-        try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8);
-             CSVReader csvReader = new CSVReader(reader)) {
-            String[] header = csvReader.readNext();
-            if (header == null) {
-                System.out.println("CSV header is missing. Import aborted.");
+    // Decides what to do and returns at once: the import/sync runs on a background thread so the
+    // HTTP server is usable immediately (catalog endpoints answer 503 until an empty catalog is filled and
+    // the in-memory catalog views have loaded)
+    @Override
+    public void run(String... args) {
+
+        // Already imported once: the existing catalog is served while changes in the register are applied
+        if (medicineRepo.count() > 0) {
+            // the table is complete; the endpoints open once the views have loaded on ApplicationReadyEvent
+            importStatusService.markReady();
+            if (!sync) {
+                log.info("medicine_master already has data. Skipping CSV import.");
                 return;
             }
-            List<MedicineMaster> batch = new ArrayList<>(100);
-            int skippedDuplicates = 0;
-            int importedCount = 0;
-            String[] c;
-            while ((c = csvReader.readNext()) != null) {
-                if (c.length < 6) continue; // skip incomplete rows
-                String genericName = clean(c, 0);
-                String brandName = clean(c, 1);
-                String manufacturer = clean(c, 2);
-                String country = clean(c, 3);
-                String regNo = clean(c, 4);
-                if (regNo != null && regNo.length() > 50) {
-                    System.out.println("⚠️ regNo truncated: " + regNo);
-                    regNo = regNo.substring(0, 50);
-                }
-                String dosage = clean(c, 5);
-                if (regNo == null) continue;
-                if (!seenRegNos.add(regNo)) {
-                    skippedDuplicates++;
-                    continue;
+            Thread.ofVirtual().name("catalog-sync").start(() -> {
+                try {
+                    syncAndPublish();
+                } catch (Exception e) {
+                    log.error("Catalog sync failed; the catalog keeps its previous content", e);
                 }
-                MedicineMaster m = new MedicineMaster();
-                m.setGenericName(genericName);
-                m.setBrandName(brandName);
-                m.setManufacturer(manufacturer);
-                m.setCountry(country);
-                m.setRegNo(regNo);
-                m.setDosage(dosage);
-                m.setStatus(com.example.backend.entity.CatalogStatus.ACTIVE); // Ensure status is ACTIVE
-                batch.add(m);
-
-                // Reduced batch size to 100 to avoid connection overload
-                if (batch.size() == 100) {
-                    medicineRepo.saveAll(batch);
-                    importedCount += batch.size();
-                    batch.clear();
-                    System.out.println("📥 Imported: " + importedCount + " medicines...");
+            });
+            return;
+        }
+
+        importStatusService.markImporting();
+        Thread.ofVirtual().name("catalog-import").start(() -> {
+            try {
+                importAndPublish();
+                importStatusService.markReady();
+            } catch (Exception e) {
+                log.error("Catalog import failed", e);
+                importStatusService.markFailed(e.getMessage());
+            }
+        });
+    }
+
+    private void syncAndPublish() throws IOException, CsvValidationException {
+        long start = System.nanoTime();
+        SyncStats stats = syncWithRegister();
+        log.info("Catalog sync in {} ms: {} inserted, {} updated, {} archived, {} unchanged",
+                (System.nanoTime() - start) / 1_000_000,
+                stats.inserted(), stats.updated(), stats.archived(), stats.unchanged());
+        if (stats.changed()) {
+            transactionTemplate.executeWithoutResult(tx -> eventPublisher.publishEvent(CatalogChangedEvent.reloaded()));
+        }
+    }
+
+    private void importAndPublish() throws IOException, CsvValidationException {
+        long start = System.nanoTime();
+        ImportStats stats = "jpa".equalsIgnoreCase(mode) ? importWithJpa() : importWithJdbc();
+        double seconds = Math.max((System.nanoTime() - start) / 1e9, 1e-9);
+
+        log.info("Imported {} medicines in {} s ({} rows/s, mode {}); skipped {} duplicate reg_no rows",
+                stats.imported(), String.format("%.2f", seconds), Math.round(stats.imported() / seconds),
+                mode, stats.skippedDuplicates());
+
+        // in-memory catalog views reload after this transaction commits (synchronously, before the gate opens)
+        transactionTemplate.executeWithoutResult(tx -> eventPublisher.publishEvent(CatalogChangedEvent.reloaded()));
+    }
+
+    // ===== Import modes =====
+
+    private ImportStats importWithJdbc() throws IOException, CsvValidationException {
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        int[] imported = {0};
+        long start = System.nanoTime();
+
+        int skipped = readRegister(m -> {
+            batch.add(insertArgs(m));
+            if (batch.size() == batchSize) {
+                int before = imported[0];
+                imported[0] += writeBatch(INSERT_SQL, batch, true);
+                if (imported[0] / PROGRESS_EVERY != before / PROGRESS_EVERY) {
+                    double seconds = Math.max((System.nanoTime() - start) / 1e9, 1e-9);
+                    log.info("Imported {} medicines ({} rows/s)", imported[0], Math.round(imported[0] / seconds));
                 }
             }
-            if (!batch.isEmpty()) {
-                medicineRepo.saveAll(batch);
-                importedCount += batch.size();
+        });
+        if (!batch.isEmpty()) imported[0] += writeBatch(INSERT_SQL, batch, true);
+        return new ImportStats(imported[0], skipped);
+    }
+
+    // ===== Differential sync =====
+
+    SyncStats syncWithRegister() throws IOException, CsvValidationException {
+        // one pass over the table: folded regNo -> stored state
+        Map<String, StoredRow> stored = new HashMap<>();
+        jdbcTemplate.query("select id, reg_no, content_hash, status, archived_by_sync from medicine_master", rs -> {
+            stored.put(CatalogIngestPipeline.regNoKey(rs.getString(2)),
+                    new StoredRow(rs.getInt(1), rs.getString(3), rs.getInt(4), rs.getBoolean(5)));
+        });
+
+        int active = CatalogStatus.ACTIVE.ordinal();
+        List<Object[]> inserts = new ArrayList<>(batchSize);
+        List<Object[]> updates = new ArrayList<>(batchSize);
+        int[] counts = new int[3]; // inserted, updated, unchanged
+
+        readRegister(m -> {
+            StoredRow row = stored.remove(CatalogIngestPipeline.regNoKey(m.getRegNo()));
+            if (row == null) {
+                inserts.add(insertArgs(m));
+                if (inserts.size() == batchSize) counts[0] += writeBatch(INSERT_SQL, inserts, true);
+            } else if (!m.getContentHash().equals(row.contentHash()) || row.archivedBySync()) {
+                // changed in the register, or back in it after the sync archived it;
+                // a status an admin chose (e.g. archived by hand) stays as it is
+                int status = row.archivedBySync() ? active : row.status();
+                updates.add(new Object[]{m.getGenericName(), m.getBrandName(), m.getManufacturer(), m.getCountry(),
+                        m.getDosage(), status, m.getContentHash(), row.id()});
+                if (updates.size() == batchSize) counts[1] += writeBatch(UPDATE_SQL, updates, false);
+            } else {
+                counts[2]++;
             }
-            System.out.println("Imported medicine_master successfully!");
-            System.out.println("Skipped duplicate reg_no rows: " + skippedDuplicates);
-            System.out.println("Final imported count: " + importedCount);
+        });
+        if (!inserts.isEmpty()) counts[0] += writeBatch(INSERT_SQL, inserts, true);
+        if (!updates.isEmpty()) counts[1] += writeBatch(UPDATE_SQL, updates, false);
+
+        // what is left came from the register earlier but is no longer listed in it
+        int archivedStatus = CatalogStatus.ARCHIVED.ordinal();
+        List<Object[]> archives = new ArrayList<>(batchSize);
+        int archived = 0;
+        for (StoredRow row : stored.values()) {
+            if (row.contentHash() == null || row.status() != active) continue;
+            archives.add(new Object[]{archivedStatus, row.id()});
+            if (archives.size() == batchSize) archived += writeBatch(ARCHIVE_SQL, archives, false);
         }
+        if (!archives.isEmpty()) archived += writeBatch(ARCHIVE_SQL, archives, false);
+
+        return new SyncStats(counts[0], counts[1], archived, counts[2]);
     }
 
-    private static String clean(String[] c, int i) {
-        if (c.length <= i || c[i] == null) return null;
-        String s = c[i].trim();
-        if (s.isEmpty()) return null;
+    // ===== JDBC helpers =====
 
-        // remove surrounding quotes
-        if (s.startsWith("\"") && s.endsWith("\"") && s.length() >= 2) {
-            s = s.substring(1, s.length() - 1);
-        }
+    // id (filled in by writeBatch) + columns of INSERT_SQL
+    private static Object[] insertArgs(MedicineMaster m) {
+        return new Object[]{null, m.getGenericName(), m.getBrandName(), m.getManufacturer(), m.getCountry(),
+                m.getRegNo(), m.getDosage(), m.getStatus().ordinal(), m.getContentHash()};
+    }
 
-        return s.trim();
+    // One transaction per batch (ids for an insert batch come from one reservation); clears the batch
+    private int writeBatch(String sql, List<Object[]> batch, boolean assignIds) {
+        transactionTemplate.executeWithoutResult(tx -> {
+            if (assignIds) {
+                long id = idAllocatorService.reserve("medicine_master", batch.size());
+                for (Object[] row : batch) row[0] = (int) id++;
+            }
+            jdbcTemplate.batchUpdate(sql, batch);
+        });
+        int written = batch.size();
+        batch.clear();
+        importStatusService.addProgress(written);
+        return written;
+    }
+
+    private ImportStats importWithJpa() {
+        return transactionTemplate.execute(tx -> {
+            List<MedicineMaster> batch = new ArrayList<>(JPA_BATCH_SIZE);
+            int[] imported = {0};
+            int skipped;
+            try {
+                skipped = readRegister(m -> {
+                    batch.add(m);
+                    if (batch.size() == JPA_BATCH_SIZE) {
+                        medicineRepo.saveAll(batch);
+                        imported[0] += batch.size();
+                        importStatusService.addProgress(batch.size());
+                        batch.clear();
+                    }
+                });
+            } catch (IOException | CsvValidationException e) {
+                throw new RuntimeException("Could not read " + resource + ": " + e.getMessage());
+            }
+            if (!batch.isEmpty()) {
+                medicineRepo.saveAll(batch);
+                imported[0] += batch.size();
+                importStatusService.addProgress(batch.size());
+            }
+            medicineRepo.flush();
+            return new ImportStats(imported[0], skipped);
+        });
     }
 
-    private static LocalDate parseDate(String s) {
-        try {
-            if (s == null) return null;
-            return LocalDate.parse(s); // yyyy-mm-dd
-        } catch (Exception e) {
-            return null;
+    // ===== CSV =====
+
+    /**
+     * Streams the register into sink through the parse/validate pipeline: the CSV is read on one thread,
+     * rows are cleaned and hashed by app.catalog.import.workers threads, and sink is called on this thread
+     * in file order (first occurrence of a regNo wins).
+     * @return number of rows skipped because their regNo was already seen
+     */
+    private int readRegister(Consumer<MedicineMaster> sink) throws IOException, CsvValidationException {
+        var register = new ClassPathResource(resource);
+        try (Reader reader = new BufferedReader(new InputStreamReader(register.getInputStream(), StandardCharsets.UTF_8));
+             CSVReader csvReader = new CSVReader(reader)) {
+            String[] header = csvReader.readNext();
+            if (header == null) {
+                log.warn("CSV header is missing. Import aborted.");
+                return 0;
+            }
+            CatalogIngestPipeline.Stats stats = new CatalogIngestPipeline(workers, CHUNK_SIZE)
+                    .run(csvReader::readNext, RegisterRow::parse, sink);
+            if (stats.invalid() > 0) log.info("Skipped {} incomplete register rows", stats.invalid());
+            return (int) stats.skippedDuplicates();
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,58 @@
+package com.example.backend.bootstrap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.example.backend.entity.CatalogStatus;
+import com.example.backend.entity.MedicineMaster;
+import com.example.backend.util.ContentHash;
+
+/**
+ * One line of the medicine register (genericName, brandName, manufacturer, country, regNo, dosage)
+ * turned into an ACTIVE MedicineMaster with its content hash. Stateless, so safe to call from the
+ * pipeline's worker threads.
+ */
+public final class RegisterRow {
+
+    private static final Logger log = LoggerFactory.getLogger(RegisterRow.class);
+
+    static final int REG_NO_MAX_LENGTH = 50;
+
+    private RegisterRow() {
+    }
+
+    // null for rows that cannot be imported (incomplete, or no regNo)
+    public static MedicineMaster parse(String[] c) {
+        if (c.length < 6) return null; // skip incomplete rows
+        String regNo = clean(c, 4);
+        if (regNo == null) return null;
+        if (regNo.length() > REG_NO_MAX_LENGTH) {
+            log.warn("regNo truncated: {}", regNo);
+            regNo = regNo.substring(0, REG_NO_MAX_LENGTH);
+        }
+        MedicineMaster m = new MedicineMaster();
+        m.setGenericName(clean(c, 0));
+        m.setBrandName(clean(c, 1));
+        m.setManufacturer(clean(c, 2));
+        m.setCountry(clean(c, 3));
+        m.setRegNo(regNo);
+        m.setDosage(clean(c, 5));
+        m.setStatus(CatalogStatus.ACTIVE); // Ensure status is ACTIVE
+        m.setContentHash(ContentHash.of(m.getGenericName(), m.getBrandName(), m.getManufacturer(),
+                m.getCountry(), m.getRegNo(), m.getDosage()));
+        return m;
+    }
+
+    private static String clean(String[] c, int i) {
+        if (c.length <= i || c[i] == null) return null;
+        String s = c[i].trim();
+        if (s.isEmpty()) return null;
+
+        // remove surrounding quotes
+        if (s.startsWith("\"") && s.endsWith("\"") && s.length() >= 2) {
+            s = s.substring(1, s.length() - 1);
+        }
+
+        return s.trim();
+    }
+}
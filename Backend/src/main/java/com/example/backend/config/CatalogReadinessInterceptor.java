@@ -0,0 +1,57 @@
+package com.example.backend.config;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.example.backend.dto.response.ApiResponse;
+import com.example.backend.service.CatalogImportStatusService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Answers 503 + Retry-After on catalog-dependent endpoints while the bootstrap import is still
+ * filling an empty catalog (see WebConfig for the paths). Everything else is served immediately.
+ */
+@Component
+public class CatalogReadinessInterceptor implements HandlerInterceptor {
+
+    private static final String RETRY_AFTER_SECONDS = "5";
+
+    private final CatalogImportStatusService importStatusService;
+    private final ObjectMapper objectMapper;
+
+    public CatalogReadinessInterceptor(CatalogImportStatusService importStatusService, ObjectMapper objectMapper) {
+        this.importStatusService = importStatusService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (importStatusService.isReady() || CorsUtils.isPreFlightRequest(request)) {
+            return true;
+        }
+        // inventory: only adding an item needs the catalog (list/update/delete work on existing rows)
+        if (request.getRequestURI().startsWith(request.getContextPath() + "/api/v1/pharmacies/inventory")
+                && !"POST".equalsIgnoreCase(request.getMethod())) {
+            return true;
+        }
+
+        var status = importStatusService.status();
+        String message = CatalogImportStatusService.State.FAILED.name().equals(status.getState())
+                ? "Medicine catalog import failed; it resumes on the next restart"
+                : "Medicine catalog is loading (" + status.getRowsImported() + " rows so far), retry shortly";
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write(objectMapper.writeValueAsString(new ApiResponse(false, message, status)));
+        return false;
+    }
+}
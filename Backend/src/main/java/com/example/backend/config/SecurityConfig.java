@@ -97,8 +97,8 @@ public class SecurityConfig {
             "https://raveenkaushalya.github.io/Medicine-Availability-Tracker/"
         ));
         cfg.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
-        cfg.setAllowedHeaders(List.of("Content-Type", "Authorization", "X-Requested-With"));
-        cfg.setExposedHeaders(List.of("Set-Cookie"));
+        cfg.setAllowedHeaders(List.of("Content-Type", "Authorization", "X-Requested-With", "If-None-Match"));
+        cfg.setExposedHeaders(List.of("Set-Cookie", "ETag"));
         cfg.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -2,11 +2,25 @@ package com.example.backend.config;
 
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    private final CatalogReadinessInterceptor catalogReadinessInterceptor;
+
+    public WebConfig(CatalogReadinessInterceptor catalogReadinessInterceptor) {
+        this.catalogReadinessInterceptor = catalogReadinessInterceptor;
+    }
+
+    // Catalog-dependent endpoints wait (503 + Retry-After) for the background catalog import
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(catalogReadinessInterceptor)
+                .addPathPatterns("/api/medicines/**", "/api/v1/pharmacies/inventory");
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**")
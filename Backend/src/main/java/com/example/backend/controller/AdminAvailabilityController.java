@@ -0,0 +1,37 @@
+package com.example.backend.controller;
+
+import java.util.Map;
+
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.backend.dto.response.ApiResponse;
+import com.example.backend.service.PublicAvailabilityProjectionService;
+
+@RestController
+@RequestMapping("/api/v1/admin/availability")
+@CrossOrigin(origins = {
+    "http://localhost:3000",
+    "http://localhost:5173",
+    "https://raveenkaushalya.github.io",
+    "https://raveenkaushalya.github.io/Medicine-Availability-Tracker/"
+}, allowCredentials = "true")
+public class AdminAvailabilityController {
+
+    private final PublicAvailabilityProjectionService projectionService;
+
+    public AdminAvailabilityController(PublicAvailabilityProjectionService projectionService) {
+        this.projectionService = projectionService;
+    }
+
+    // Recovery: rebuild the public availability read model from the database
+    @PostMapping("/rebuild")
+    public ApiResponse rebuild() {
+        long start = System.nanoTime();
+        int pharmacies = projectionService.rebuild();
+        long tookMs = (System.nanoTime() - start) / 1_000_000;
+        return new ApiResponse(true, "Read model rebuilt", Map.of("pharmacies", pharmacies, "tookMs", tookMs));
+    }
+}
@@ -1,8 +1,10 @@
 package com.example.backend.controller;
 
+import java.io.InputStream;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,6 +12,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -18,7 +21,13 @@ import com.example.backend.dto.request.AdminMedicineCreateRequest;
 import com.example.backend.dto.request.AdminMedicineUpdateRequest;
 import com.example.backend.dto.response.AdminMedicineRowResponse;
 import com.example.backend.dto.response.AdminMedicineSuggestItem;
+import com.example.backend.dto.response.BulkUpsertResult;
+import com.example.backend.dto.response.CatalogMemoryReportResponse;
+import com.example.backend.dto.response.KeysetPageResponse;
+import com.example.backend.dto.response.MedicineFacetsResponse;
 import com.example.backend.service.AdminMedicineService;
+import com.example.backend.service.MedicineBulkUpsertService;
+import com.example.backend.service.MedicineCatalogSnapshotService;
 
 import jakarta.validation.Valid;
 
@@ -39,11 +48,22 @@ public class AdminMedicineController {
     }
 
     private final AdminMedicineService service;
+    private final MedicineCatalogSnapshotService snapshotService;
+    private final MedicineBulkUpsertService bulkUpsertService;
 
-    public AdminMedicineController(AdminMedicineService service) {
+    public AdminMedicineController(
+            AdminMedicineService service,
+            MedicineCatalogSnapshotService snapshotService,
+            MedicineBulkUpsertService bulkUpsertService
+    ) {
         this.service = service;
+        this.snapshotService = snapshotService;
+        this.bulkUpsertService = bulkUpsertService;
     }
 
+    // q matches whole words of generic name, brand, dosage, manufacturer or regNo in any order (the last word
+    // also as a prefix), ranked by relevance unless sort is given; when no word matches, rows whose generic
+    // name, brand or regNo contain q are returned instead (e.g. q=cetamol)
     @GetMapping
     public Page<AdminMedicineRowResponse> list(
             @RequestParam(required = false) String q,
@@ -58,6 +78,24 @@ public class AdminMedicineController {
         return service.list(q, status, manufacturer, country, brandName, page, size, sort);
     }
 
+    // Keyset variant: pass nextCursor back as ?cursor=; total is only counted with count=true
+    // /api/v1/admin/medicines/seek?sort=brandName,asc&size=20
+    // /api/v1/admin/medicines/seek?cursor=<nextCursor>&sort=brandName,asc&size=20
+    @GetMapping("/seek")
+    public KeysetPageResponse<AdminMedicineRowResponse> seek(
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "ALL") String status,
+            @RequestParam(required = false) String manufacturer,
+            @RequestParam(required = false) String country,
+            @RequestParam(required = false) String brandName,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean count
+    ) {
+        return service.seek(q, status, manufacturer, country, brandName, sort, cursor, size, count);
+    }
+
     @GetMapping("/filters/manufacturers")
     public List<String> manufacturers() {
         return service.manufacturers();
@@ -68,11 +106,35 @@ public class AdminMedicineController {
         return service.brands();
     }
 
+    // All filter dropdowns with counts in one call; counts follow the filters currently applied
+    // /api/v1/admin/medicines/filters/facets
+    // /api/v1/admin/medicines/filters/facets?q=paracetamol&country=India
+    @GetMapping("/filters/facets")
+    public MedicineFacetsResponse facets(
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "ALL") String status,
+            @RequestParam(required = false) String manufacturer,
+            @RequestParam(required = false) String country,
+            @RequestParam(required = false) String brandName
+    ) {
+        return service.facets(q, status, manufacturer, country, brandName);
+    }
+
     @PostMapping
     public AdminMedicineRowResponse create(@Valid @RequestBody AdminMedicineCreateRequest req) {
         return service.create(req);
     }
 
+    // Bulk upsert by regNo; the request body is read as a stream (send the file as the raw body, not multipart)
+    // curl -X POST -H "Content-Type: text/csv" --data-binary @register.csv .../api/v1/admin/medicines/bulk
+    // curl -X POST -H "Content-Type: application/x-ndjson" --data-binary @register.jsonl .../api/v1/admin/medicines/bulk
+    @PostMapping(value = "/bulk", consumes = {"text/csv", "application/x-ndjson", "application/jsonl"})
+    public BulkUpsertResult bulkUpsert(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) {
+        return contentType.toLowerCase().contains("json")
+                ? bulkUpsertService.upsertJsonLines(body)
+                : bulkUpsertService.upsertCsv(body);
+    }
+
     @PutMapping("/{id}")
     public AdminMedicineRowResponse update(@PathVariable Integer id, @Valid @RequestBody AdminMedicineUpdateRequest req) {
         return service.update(id, req);
@@ -88,8 +150,16 @@ public class AdminMedicineController {
     }
 
     @GetMapping("/suggest")
-    public List<AdminMedicineSuggestItem> suggest(@RequestParam String q) {
-        return service.suggest(q);
+    public List<AdminMedicineSuggestItem> suggest(@RequestParam String q,
+                                                  @RequestParam(defaultValue = "false") boolean fuzzy) {
+        return service.suggest(q, fuzzy);
+    }
+
+    // Heap estimate of the in-memory catalog vs. a plain List<MedicineMasterDto> of the same rows
+    // (CompactCatalogMemoryTest checks the estimate against measured heap)
+    @GetMapping("/catalog-memory")
+    public CatalogMemoryReportResponse catalogMemory() {
+        return snapshotService.memoryReport();
     }
 
 }
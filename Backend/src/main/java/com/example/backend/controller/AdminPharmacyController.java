@@ -57,6 +57,21 @@ public class AdminPharmacyController {
         );
     }
 
+    // Keyset variant (deep pages cost the same as the first; no count unless count=true)
+    // Examples:
+    // /api/v1/admin/pharmacies/seek?status=PENDING&size=10
+    // /api/v1/admin/pharmacies/seek?cursor=<nextCursor>&q=abc&count=true
+    @GetMapping("/seek")
+    public ApiResponse seek(
+            @RequestParam(defaultValue = "ALL") String status,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean count
+    ) {
+        return new ApiResponse(true, "OK", pharmacyService.seekPharmaciesForAdmin(status, q, cursor, size, count));
+    }
+
     // Approve pharmacy
     @PatchMapping("/{id}/approve")
     public ApiResponse approve(@PathVariable Integer id) {
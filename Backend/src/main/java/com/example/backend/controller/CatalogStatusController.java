@@ -0,0 +1,31 @@
+package com.example.backend.controller;
+
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.backend.dto.response.ApiResponse;
+import com.example.backend.service.CatalogImportStatusService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/public/catalog")
+@CrossOrigin(origins = {
+    "http://localhost:3000",
+    "http://localhost:5173",
+    "https://raveenkaushalya.github.io",
+    "https://raveenkaushalya.github.io/Medicine-Availability-Tracker/"
+}, allowCredentials = "true")
+@RequiredArgsConstructor
+public class CatalogStatusController {
+    private final CatalogImportStatusService importStatusService;
+
+    // Catalog import progress; /api/medicines/** answers 503 until state is READY
+    // Example: /api/public/catalog/status
+    @GetMapping("/status")
+    public ApiResponse status() {
+        return new ApiResponse(true, "OK", importStatusService.status());
+    }
+}
@@ -2,10 +2,15 @@ package com.example.backend.controller;
 
 import com.example.backend.dto.response.MedicineMasterDto;
 import com.example.backend.dto.response.MedicineSuggestResponse;
-import com.example.backend.entity.MedicineMaster;
+import com.example.backend.service.DataVersionService;
 import com.example.backend.service.MedicineCatalogService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -15,20 +20,69 @@ import java.util.List;
 public class MedicineCatalogController {
 
     // Public endpoint: get all medicines (read-only)
+    // Supports If-None-Match: unchanged catalog -> 304 without touching the database
     @GetMapping("/all")
-    public List<MedicineMasterDto> getAll() {
-        return medicineCatalogService.getAll();
+    public ResponseEntity<List<MedicineMasterDto>> getAll(WebRequest webRequest) {
+        String etag = dataVersionService.catalogEtag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(medicineCatalogService.getAll());
+    }
+
+    // Streaming mode: /api/medicines/all?stream=true (rows are written as they are read, constant heap)
+    @GetMapping(value = "/all", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamAll(WebRequest webRequest) {
+        String etag = dataVersionService.catalogEtag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        StreamingResponseBody body = medicineCatalogService::streamAll;
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
     }
 
     private final MedicineCatalogService medicineCatalogService;
+    private final DataVersionService dataVersionService;
 
     // Example: /api/medicines/suggest?q=para
+    // Typo-tolerant: /api/medicines/suggest?q=paracetmol&fuzzy=true (also used when nothing matches the prefix)
     @GetMapping("/suggest")
-    public List<MedicineSuggestResponse> suggest(@RequestParam String q) {
-        return medicineCatalogService.suggest(q);
+    public List<MedicineSuggestResponse> suggest(@RequestParam String q,
+                                                 @RequestParam(defaultValue = "false") boolean fuzzy) {
+        return medicineCatalogService.suggest(q, fuzzy);
     }
+
+    // Ranked full-text search over generic name, brand, dosage, manufacturer and reg no
+    // Example: /api/medicines/search?q=500mg paracetamol&limit=20
+    @GetMapping("/search")
+    public List<MedicineSuggestResponse> search(@RequestParam String q,
+                                                @RequestParam(defaultValue = "20") int limit) {
+        return medicineCatalogService.search(q, limit);
+    }
+
+    // Frontend reports which suggestion the user picked (feeds suggest ranking)
+    // Example: POST /api/medicines/42/select
+    @PostMapping("/{id}/select")
+    public ResponseEntity<Void> select(@PathVariable Integer id) {
+        medicineCatalogService.recordSelection(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    // Example: /api/medicines/by-reg-no?regNo=N12345
+    @GetMapping("/by-reg-no")
+    public MedicineMasterDto getByRegNo(@RequestParam String regNo) {
+        return medicineCatalogService.getByRegNo(regNo);
+    }
+
     @GetMapping("/{id}")
-    public MedicineMaster getOne(@PathVariable Integer id) {
+    public MedicineMasterDto getOne(@PathVariable Integer id) {
         return medicineCatalogService.getOne(id);
     }
 
@@ -2,6 +2,7 @@ package com.example.backend.controller;
 
 import java.util.List;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -20,6 +21,7 @@ import com.example.backend.entity.MedicineMaster;
 import com.example.backend.entity.Pharmacy;
 import com.example.backend.entity.PharmacyInventoryItem;
 import com.example.backend.entity.User;
+import com.example.backend.event.InventoryChangedEvent;
 import com.example.backend.repository.InventoryActivityRepository;
 import com.example.backend.repository.MedicineMasterRepository;
 import com.example.backend.repository.PharmacyInventoryRepository;
@@ -46,6 +48,7 @@ public class PharmacyInventoryController {
 
     // ✅ ADD THIS
     private final InventoryActivityRepository activityRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     // ✅ UPDATE CONSTRUCTOR (add activityRepository)
     public PharmacyInventoryController(
@@ -53,13 +56,15 @@ public class PharmacyInventoryController {
             PharmacyRepository pharmacyRepository,
             MedicineMasterRepository medicineMasterRepository,
             PharmacyInventoryRepository inventoryRepository,
-            InventoryActivityRepository activityRepository
+            InventoryActivityRepository activityRepository,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.userRepository = userRepository;
         this.pharmacyRepository = pharmacyRepository;
         this.medicineMasterRepository = medicineMasterRepository;
         this.inventoryRepository = inventoryRepository;
         this.activityRepository = activityRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     private User requireLoggedInUser(HttpServletRequest request) {
@@ -120,7 +125,8 @@ public class PharmacyInventoryController {
         item.setStock(req.getStock());
         item.setPrice(req.getPrice());
 
-        inventoryRepository.save(item);
+        item = inventoryRepository.save(item);
+        eventPublisher.publishEvent(InventoryChangedEvent.saved(item));
 
         // ✅ LOG ACTIVITY (Step 4)
         String medName =
@@ -158,7 +164,8 @@ public class PharmacyInventoryController {
         item.setStock(req.getStock());
         item.setPrice(req.getPrice());
 
-        inventoryRepository.save(item);
+        item = inventoryRepository.save(item);
+        eventPublisher.publishEvent(InventoryChangedEvent.saved(item));
 
         return new ApiResponse(true, "Inventory updated", null);
     }
@@ -189,6 +196,7 @@ public class PharmacyInventoryController {
         activityRepository.save(log);
 
         inventoryRepository.delete(item);
+        eventPublisher.publishEvent(InventoryChangedEvent.deleted(item));
 
         return new ApiResponse(true, "Deleted", null);
     }
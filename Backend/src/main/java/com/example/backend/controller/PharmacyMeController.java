@@ -1,5 +1,6 @@
 package com.example.backend.controller;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -13,9 +14,12 @@ import com.example.backend.dto.response.PharmacyMeResponse;
 import com.example.backend.entity.Pharmacy;
 import com.example.backend.entity.PharmacyLocation;
 import com.example.backend.entity.User;
+import com.example.backend.event.PharmacyLocationChangedEvent;
+import com.example.backend.event.PharmacyProfileChangedEvent;
 import com.example.backend.repository.PharmacyLocationRepository;
 import com.example.backend.repository.PharmacyRepository;
 import com.example.backend.repository.UserRepository;
+import com.example.backend.util.WeeklySchedule;
 
 import jakarta.servlet.http.HttpServletRequest;
 
@@ -32,15 +36,18 @@ public class PharmacyMeController {
     private final PharmacyRepository pharmacyRepository;
     private final PharmacyLocationRepository pharmacyLocationRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public PharmacyMeController(
             PharmacyRepository pharmacyRepository,
             PharmacyLocationRepository pharmacyLocationRepository,
-            UserRepository userRepository
+            UserRepository userRepository,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.pharmacyRepository = pharmacyRepository;
         this.pharmacyLocationRepository = pharmacyLocationRepository;
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     private User requireLoggedInUser(HttpServletRequest request) {
@@ -105,11 +112,15 @@ public class PharmacyMeController {
         if (req.getContactPhone() != null) pharmacy.setContactPhone(req.getContactPhone());
         if (req.getTelephone() != null) pharmacy.setTelephone(req.getTelephone());
         if (req.getAboutPharmacy() != null) pharmacy.setAboutPharmacy(req.getAboutPharmacy());
-        if (req.getOpeningHoursJson() != null) pharmacy.setOpeningHoursJson(req.getOpeningHoursJson());
+        if (req.getOpeningHoursJson() != null) {
+            WeeklySchedule.parse(req.getOpeningHoursJson()); // reject malformed hours before saving
+            pharmacy.setOpeningHoursJson(req.getOpeningHoursJson());
+        }
         // PATCH: update addressInSriLanka if address is provided
         if (req.getAddress() != null) pharmacy.setAddressInSriLanka(req.getAddress());
 
         pharmacyRepository.save(pharmacy);
+        eventPublisher.publishEvent(new PharmacyProfileChangedEvent(pharmacy.getId()));
 
         // update/create location row if any location field is provided
         boolean locationTouched =
@@ -132,6 +143,9 @@ public class PharmacyMeController {
             if (req.getLongitude() != null) loc.setLongitude(req.getLongitude());
 
             pharmacyLocationRepository.save(loc);
+
+            // keep in-memory indexes (geo, ...) in sync
+            eventPublisher.publishEvent(PharmacyLocationChangedEvent.of(pharmacy, loc));
         }
 
         PharmacyLocation latestLoc = pharmacyLocationRepository.findByPharmacy(pharmacy).orElse(null);
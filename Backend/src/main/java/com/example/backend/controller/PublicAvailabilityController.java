@@ -0,0 +1,92 @@
+package com.example.backend.controller;
+
+import java.time.LocalDateTime;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.backend.dto.response.ApiResponse;
+import com.example.backend.service.AvailabilityChangeFeedService;
+import com.example.backend.service.MedicineAvailabilityIndexService;
+import com.example.backend.service.MedicinePopularityService;
+import com.example.backend.service.OpeningHoursService;
+import com.example.backend.service.StockUpdateStreamService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/public/availability")
+@CrossOrigin(origins = {
+    "http://localhost:3000",
+    "http://localhost:5173",
+    "https://raveenkaushalya.github.io",
+    "https://raveenkaushalya.github.io/Medicine-Availability-Tracker/"
+}, allowCredentials = "true")
+@RequiredArgsConstructor
+public class PublicAvailabilityController {
+    private final MedicineAvailabilityIndexService availabilityIndexService;
+    private final AvailabilityChangeFeedService changeFeedService;
+    private final StockUpdateStreamService stockUpdateStreamService;
+    private final OpeningHoursService openingHoursService;
+    private final MedicinePopularityService popularityService;
+
+    // "Who has it in stock near me"
+    // Examples:
+    // /api/public/availability/medicines/42?lat=6.9271&lng=79.8612&sort=distance&radiusKm=10
+    // /api/public/availability/medicines/42?sort=price&limit=20
+    // /api/public/availability/medicines/42?lat=6.9271&lng=79.8612&openNow=true
+    @GetMapping("/medicines/{medicineId}")
+    public ApiResponse inStockPharmacies(
+            @PathVariable Integer medicineId,
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lng,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(defaultValue = "distance") String sort,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "false") boolean openNow,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime openAt
+    ) {
+        popularityService.recordSearch(medicineId);
+        return new ApiResponse(true, "OK", availabilityIndexService.findInStock(
+                medicineId, lat, lng, radiusKm, sort, limit, openingHoursService.openFilter(openNow, openAt)));
+    }
+
+    // Delta sync:
+    // 1) GET /api/public/availability/changes/head  -> version
+    // 2) GET /api/public/pharmacies-with-inventory   -> full listing
+    // 3) poll GET /api/public/availability/changes?since=<version> and apply inventory / inventoryDeletes / pharmacies
+    @GetMapping("/changes")
+    public ApiResponse changes(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "1000") int limit
+    ) {
+        return new ApiResponse(true, "OK", changeFeedService.changesSince(since, limit));
+    }
+
+    @GetMapping("/changes/head")
+    public ApiResponse changesHead() {
+        return new ApiResponse(true, "OK", changeFeedService.headVersion());
+    }
+
+    // Live stock updates (Server-Sent Events, event name "stock")
+    // Examples:
+    // /api/public/availability/stream?medicineId=42
+    // /api/public/availability/stream?minLat=6.8&minLng=79.8&maxLat=7.0&maxLng=80.0
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @RequestParam(required = false) Integer medicineId,
+            @RequestParam(required = false) Double minLat,
+            @RequestParam(required = false) Double minLng,
+            @RequestParam(required = false) Double maxLat,
+            @RequestParam(required = false) Double maxLng
+    ) {
+        return stockUpdateStreamService.subscribe(medicineId, minLat, minLng, maxLat, maxLng);
+    }
+}
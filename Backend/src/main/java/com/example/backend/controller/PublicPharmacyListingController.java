@@ -1,21 +1,22 @@
 package com.example.backend.controller;
 
-import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
+import java.time.LocalDateTime;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.example.backend.dto.response.ApiResponse;
-import com.example.backend.dto.response.PublicPharmacyWithInventoryResponse;
-import com.example.backend.entity.Pharmacy;
-import com.example.backend.entity.PharmacyInventoryItem;
-import com.example.backend.repository.PharmacyInventoryRepository;
-import com.example.backend.repository.PharmacyLocationRepository;
-import com.example.backend.repository.PharmacyRepository;
+import com.example.backend.service.DataVersionService;
+import com.example.backend.service.PublicAvailabilityService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -29,27 +30,62 @@ import lombok.RequiredArgsConstructor;
 }, allowCredentials = "true")
 @RequiredArgsConstructor
 public class PublicPharmacyListingController {
-    private final PharmacyRepository pharmacyRepository;
-    private final PharmacyInventoryRepository inventoryRepository;
-    private final PharmacyLocationRepository pharmacyLocationRepository;
+    private final PublicAvailabilityService publicAvailabilityService;
+    private final DataVersionService dataVersionService;
 
     @GetMapping
-    public ApiResponse getPharmaciesWithAvailableInventory() {
-        // Get all pharmacies
-        List<Pharmacy> pharmacies = pharmacyRepository.findAll();
-        // For each pharmacy, get all inventory (including out of stock)
-        List<PublicPharmacyWithInventoryResponse> result = pharmacies.stream()
-            .map(pharmacy -> {
-                List<PharmacyInventoryItem> inventory = inventoryRepository.findByPharmacyOrderByIdDesc(pharmacy);
-                if (inventory.isEmpty()) return null;
-                // Fetch location
-                var locOpt = pharmacyLocationRepository.findByPharmacy(pharmacy);
-                Double lat = locOpt.map(l -> l.getLatitude()).orElse(null);
-                Double lng = locOpt.map(l -> l.getLongitude()).orElse(null);
-                return PublicPharmacyWithInventoryResponse.from(pharmacy, inventory, lat, lng);
-            })
-            .filter(Objects::nonNull)
-            .collect(Collectors.toList());
-        return new ApiResponse(true, "OK", result);
+    public ResponseEntity<ApiResponse> getPharmaciesWithAvailableInventory(WebRequest webRequest) {
+        // Conditional GET: If-None-Match equal to the current data version -> 304 without touching data
+        String etag = dataVersionService.availabilityEtag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        // All pharmacies with their inventory (including out of stock)
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(new ApiResponse(true, "OK", publicAvailabilityService.getPharmaciesWithInventory()));
+    }
+
+    // Streaming mode: same JSON, written pharmacy by pharmacy while rows are read from the database
+    // Example: /api/public/pharmacies-with-inventory?stream=true
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamPharmaciesWithAvailableInventory(WebRequest webRequest) {
+        String etag = dataVersionService.availabilityEtag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        StreamingResponseBody body = publicAvailabilityService::streamPharmaciesWithInventory;
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    // Keyset-paginated + filtered variant
+    // Examples:
+    // /api/public/pharmacies-with-inventory/page?size=50
+    // /api/public/pharmacies-with-inventory/page?cursor=<nextCursor>&inStock=true&medicineId=42
+    // /api/public/pharmacies-with-inventory/page?minLat=6.8&minLng=79.8&maxLat=7.0&maxLng=80.0
+    // /api/public/pharmacies-with-inventory/page?openNow=true
+    // /api/public/pharmacies-with-inventory/page?openAt=2025-06-01T21:30   (local time, Asia/Colombo)
+    @GetMapping("/page")
+    public ApiResponse getPharmaciesWithInventoryPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "false") boolean inStock,
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) Integer medicineId,
+            @RequestParam(required = false) Double minLat,
+            @RequestParam(required = false) Double minLng,
+            @RequestParam(required = false) Double maxLat,
+            @RequestParam(required = false) Double maxLng,
+            @RequestParam(defaultValue = "false") boolean openNow,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime openAt
+    ) {
+        return new ApiResponse(true, "OK", publicAvailabilityService.getPharmaciesWithInventoryPage(
+                cursor, size, inStock, entityType, medicineId, minLat, minLng, maxLat, maxLng, openNow, openAt));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,82 @@
+package com.example.backend.controller;
+
+import java.time.LocalDateTime;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import com.example.backend.dto.response.ApiResponse;
+import com.example.backend.service.DataVersionService;
+import com.example.backend.service.OpeningHoursService;
+import com.example.backend.service.PharmacyClusterService;
+import com.example.backend.service.PharmacyGeoIndexService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/public/pharmacies")
+@CrossOrigin(origins = {
+    "http://localhost:3000",
+    "http://localhost:5173",
+    "https://raveenkaushalya.github.io",
+    "https://raveenkaushalya.github.io/Medicine-Availability-Tracker/"
+}, allowCredentials = "true")
+@RequiredArgsConstructor
+public class PublicPharmacyMapController {
+    private final PharmacyGeoIndexService geoIndexService;
+    private final OpeningHoursService openingHoursService;
+    private final PharmacyClusterService clusterService;
+    private final DataVersionService dataVersionService;
+
+    // Example: /api/public/pharmacies/nearby?lat=6.9271&lng=79.8612&radiusKm=5&k=10
+    // Open only: &openNow=true or &openAt=2025-06-01T21:30 (local time)
+    @GetMapping("/nearby")
+    public ApiResponse nearby(
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(defaultValue = "10") double radiusKm,
+            @RequestParam(defaultValue = "10") int k,
+            @RequestParam(defaultValue = "false") boolean openNow,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime openAt
+    ) {
+        return new ApiResponse(true, "OK",
+                geoIndexService.nearest(lat, lng, radiusKm, k, openingHoursService.openFilter(openNow, openAt)));
+    }
+
+    // Map clusters for low zoom levels; bbox = minLng,minLat,maxLng,maxLat
+    // Example: /api/public/pharmacies/clusters?bbox=79.5,5.9,82.0,9.9&zoom=7
+    @GetMapping("/clusters")
+    public ResponseEntity<ApiResponse> clusters(
+            @RequestParam String bbox,
+            @RequestParam int zoom,
+            WebRequest webRequest
+    ) {
+        String etag = dataVersionService.availabilityEtag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        String[] parts = bbox.split(",");
+        if (parts.length != 4) {
+            throw new RuntimeException("Invalid bbox, expected minLng,minLat,maxLng,maxLat");
+        }
+        double[] box = new double[4];
+        try {
+            for (int i = 0; i < 4; i++) box[i] = Double.parseDouble(parts[i].trim());
+        } catch (NumberFormatException ex) {
+            throw new RuntimeException("Invalid bbox, expected minLng,minLat,maxLng,maxLat");
+        }
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(new ApiResponse(true, "OK", clusterService.clusters(box[0], box[1], box[2], box[3], zoom)));
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.backend.dto.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * In-stock inventory row used to bootstrap the medicine availability index.
+ */
+@Getter
+@AllArgsConstructor
+public class InventoryStockRow {
+
+    private final Integer pharmacyId;
+    private final String pharmacyName;
+    private final Integer medicineId;
+    private final Integer stock;
+    private final BigDecimal price;
+    private final LocalDateTime updatedAt;
+
+    // JPQL constructor: pharmacy display name = trade name, falling back to legal entity name
+    public InventoryStockRow(Integer pharmacyId, String tradeName, String legalEntityName, Integer medicineId,
+                             Integer stock, BigDecimal price, LocalDateTime updatedAt) {
+        this(pharmacyId,
+                tradeName != null && !tradeName.isEmpty() ? tradeName : legalEntityName,
+                medicineId, stock, price, updatedAt);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.backend.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Immutable pharmacy position held by the in-memory geo index.
+ */
+@Getter
+@AllArgsConstructor
+public class PharmacyGeoPoint {
+
+    private final Integer pharmacyId;
+    private final String name;
+    private final double latitude;
+    private final double longitude;
+
+    // JPQL constructor: pharmacy display name = trade name, falling back to legal entity name
+    public PharmacyGeoPoint(Integer pharmacyId, String tradeName, String legalEntityName, Double latitude, Double longitude) {
+        this(pharmacyId,
+                tradeName != null && !tradeName.isEmpty() ? tradeName : legalEntityName,
+                latitude,
+                longitude);
+    }
+}
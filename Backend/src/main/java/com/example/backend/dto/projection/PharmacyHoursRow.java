@@ -0,0 +1,14 @@
+package com.example.backend.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Pharmacy id + raw opening hours, used to build the opening hours cache.
+ */
+@Data
+@AllArgsConstructor
+public class PharmacyHoursRow {
+    private Integer pharmacyId;
+    private String openingHoursJson;
+}
@@ -0,0 +1,21 @@
+package com.example.backend.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Public pharmacy fields + location, without inventory (delta-sync feed).
+ */
+@Data
+@AllArgsConstructor
+public class PharmacyProfileRow {
+    private Integer pharmacyId;
+    private String tradeName;
+    private String legalEntityName;
+    private String address;
+    private String telephone;
+    private String openingHoursJson;
+    private String entityType;
+    private Double latitude;
+    private Double longitude;
+}
@@ -0,0 +1,40 @@
+package com.example.backend.dto.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * One flattened pharmacy + location + inventory + medicine row,
+ * produced by a single JPQL constructor query (no entity hydration).
+ * Constructor parameter order must match the select list in PharmacyInventoryRepository.
+ */
+@Data
+@AllArgsConstructor
+public class PublicAvailabilityRow {
+
+    // pharmacy
+    private Integer pharmacyId;
+    private String tradeName;
+    private String legalEntityName;
+    private String address;
+    private String telephone;
+    private String openingHoursJson;
+    private String entityType;
+
+    // pharmacy_location (null when the pharmacy has no location row)
+    private Double latitude;
+    private Double longitude;
+
+    // pharmacy_inventory + medicine_master
+    private Integer inventoryId;
+    private Integer medicineId;
+    private String genericName;
+    private String brandName;
+    private String dosage;
+    private Integer stock;
+    private BigDecimal price;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,22 @@
+package com.example.backend.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One line of a bulk catalog upload (CSV row or JSON line); extra register columns are ignored
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class MedicineBulkRow {
+    private String genericName;
+    private String brandName;
+    private String manufacturer;
+    private String country;
+    private String regNo;
+    private String dosage;
+    private String status; // ACTIVE / ARCHIVED; blank keeps the current status (ACTIVE for new rows)
+}
@@ -0,0 +1,42 @@
+package com.example.backend.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class AvailabilityChangesResponse {
+
+    // pass as ?since= on the next call
+    private long version;
+    private boolean hasMore;
+
+    // true when 'since' is older than the retained change log: reload the full listing and resume from its version
+    private boolean resetRequired;
+
+    // current state of inventory rows changed after 'since'
+    private List<InventoryDelta> inventory;
+
+    // inventory rows removed after 'since' (tombstones)
+    private List<InventoryKey> inventoryDeletes;
+
+    // pharmacy profile/location changes (inventory is not included)
+    private List<PublicPharmacyWithInventoryResponse> pharmacies;
+
+    @Data
+    @AllArgsConstructor
+    public static class InventoryDelta {
+        private Integer pharmacyId;
+        @com.fasterxml.jackson.annotation.JsonUnwrapped
+        private PublicPharmacyWithInventoryResponse.InventoryItem item;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class InventoryKey {
+        private Integer pharmacyId;
+        private Integer medicineId;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.backend.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BulkUpsertResult {
+    private int inserted;
+    private int updated;
+    private int unchanged;
+    private int rejected;
+    private long elapsedMs;
+
+    // first rejected rows only (see MAX_REPORTED_ERRORS)
+    private List<RejectedRow> errors;
+
+    @Data
+    @AllArgsConstructor
+    public static class RejectedRow {
+        private long row; // 1-based data row (header excluded)
+        private String regNo;
+        private String reason;
+    }
+}
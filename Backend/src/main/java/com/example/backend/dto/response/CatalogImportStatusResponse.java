@@ -0,0 +1,16 @@
+package com.example.backend.dto.response;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class CatalogImportStatusResponse {
+    private String state;          // STARTING / IMPORTING / READY / FAILED
+    private long rowsImported;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
@@ -0,0 +1,17 @@
+package com.example.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Estimated heap footprint of the in-memory catalog vs. the same rows as a plain List<MedicineMasterDto>
+@Data
+@AllArgsConstructor
+public class CatalogMemoryReportResponse {
+    private int rows;
+    private int distinctManufacturers;
+    private int distinctCountries;
+    private int distinctDosages;
+    private long compactBytes;
+    private long dtoListBytes;
+    private double savedPercent;
+}
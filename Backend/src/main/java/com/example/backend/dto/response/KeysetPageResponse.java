@@ -0,0 +1,16 @@
+package com.example.backend.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Seek-paginated slice: no OFFSET, and no count(*) unless the caller asks for it
+@Data
+@AllArgsConstructor
+public class KeysetPageResponse<T> {
+    private List<T> items;
+    private String nextCursor; // null when this is the last page
+    private boolean hasMore;
+    private Long total;        // null unless requested with count=true
+}
@@ -0,0 +1,21 @@
+package com.example.backend.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class MedicineAvailabilityResponse {
+    private Integer pharmacyId;
+    private String pharmacyName;
+    private Double latitude;
+    private Double longitude;
+    private Double distanceKm; // null when no origin was given or the pharmacy has no location
+    private Integer stock;
+    private BigDecimal price;
+    @com.fasterxml.jackson.annotation.JsonFormat(shape = com.fasterxml.jackson.annotation.JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'", timezone = "UTC")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,27 @@
+package com.example.backend.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class MedicineFacetsResponse {
+
+    // medicines matching every active filter
+    private long total;
+
+    // each facet is counted with all filters except its own, so the other values stay selectable
+    private List<FacetCount> manufacturers;
+    private List<FacetCount> brands;
+    private List<FacetCount> countries;
+    private List<FacetCount> statuses;
+
+    @Data
+    @AllArgsConstructor
+    public static class FacetCount {
+        private String value;
+        private long count;
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.backend.dto.response;
 
+import com.example.backend.entity.CatalogStatus;
+import com.example.backend.entity.MedicineMaster;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
@@ -14,4 +17,23 @@ public class MedicineMasterDto {
     private String regNo;
     private String status;
     private String dosage;
+
+    // JPQL constructor (status is mapped as an enum on the entity)
+    public MedicineMasterDto(Integer id, String genericName, String brandName, String manufacturer, String country,
+                             String regNo, CatalogStatus status, String dosage) {
+        this(id, genericName, brandName, manufacturer, country, regNo, status != null ? status.name() : null, dosage);
+    }
+
+    public static MedicineMasterDto from(MedicineMaster m) {
+        return new MedicineMasterDto(
+            m.getId(),
+            m.getGenericName(),
+            m.getBrandName(),
+            m.getManufacturer(),
+            m.getCountry(),
+            m.getRegNo(),
+            m.getStatus() != null ? m.getStatus().name() : null,
+            m.getDosage()
+        );
+    }
 }
@@ -0,0 +1,14 @@
+package com.example.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class NearbyPharmacyResponse {
+    private Integer pharmacyId;
+    private String name;
+    private Double latitude;
+    private Double longitude;
+    private double distanceKm;
+}
@@ -0,0 +1,17 @@
+package com.example.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class PharmacyClusterResponse {
+    // centroid of the pharmacies in the cluster
+    private double latitude;
+    private double longitude;
+    private int pharmacyCount;
+    // pharmacies in the cluster with at least one medicine in stock
+    private int inStockCount;
+    // set only when the cluster is a single pharmacy
+    private Integer pharmacyId;
+}
@@ -0,0 +1,14 @@
+package com.example.backend.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class PublicPharmacyPageResponse {
+    private List<PublicPharmacyWithInventoryResponse> items;
+    private String nextCursor; // null when this is the last page
+    private boolean hasMore;
+}
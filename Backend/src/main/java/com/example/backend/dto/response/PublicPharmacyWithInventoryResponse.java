@@ -1,9 +1,12 @@
 package com.example.backend.dto.response;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import com.example.backend.dto.projection.PharmacyProfileRow;
+import com.example.backend.dto.projection.PublicAvailabilityRow;
 import com.example.backend.entity.MedicineMaster;
 import com.example.backend.entity.Pharmacy;
 import com.example.backend.entity.PharmacyInventoryItem;
@@ -14,7 +17,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @AllArgsConstructor
 @NoArgsConstructor
 public class PublicPharmacyWithInventoryResponse {
@@ -24,6 +27,8 @@ public class PublicPharmacyWithInventoryResponse {
     private String phone;
     private String hours;
     private String type;
+    // depends on the clock, so it is filled in by the caller from OpeningHoursService;
+    // null = unknown (the pharmacy has not entered opening hours)
     private Boolean isOpen;
     @com.fasterxml.jackson.annotation.JsonProperty("latitude")
     private Double latitude;
@@ -48,6 +53,22 @@ public class PublicPharmacyWithInventoryResponse {
         @com.fasterxml.jackson.annotation.JsonFormat(shape = com.fasterxml.jackson.annotation.JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'", timezone = "UTC")
         private java.time.LocalDateTime updatedAt;
         private String category;
+
+        public static InventoryItem from(PublicAvailabilityRow row) {
+            java.time.LocalDateTime updated = row.getUpdatedAt();
+            if (updated == null) updated = java.time.LocalDateTime.now();
+            return InventoryItem.builder()
+                .medicineId(row.getMedicineId())
+                .drugName(row.getGenericName() != null ? row.getGenericName() : row.getBrandName())
+                .brandName(row.getBrandName())
+                .dosage(row.getDosage())
+                .quantity(row.getStock())
+                .price(row.getPrice())
+                .inStock(row.getStock() > 0)
+                .updatedAt(updated)
+                .category("")
+                .build();
+        }
     }
 
     public static PublicPharmacyWithInventoryResponse from(Pharmacy p, List<PharmacyInventoryItem> inventory, Double latitude, Double longitude) {
@@ -58,7 +79,6 @@ public class PublicPharmacyWithInventoryResponse {
             .phone(p.getTelephone())
             .hours(p.getOpeningHoursJson())
             .type(p.getEntityType())
-            .isOpen(true)
             .latitude(latitude)
             .longitude(longitude)
             .inventory(inventory.stream().map(item -> {
@@ -80,4 +100,49 @@ public class PublicPharmacyWithInventoryResponse {
             }).collect(Collectors.toList()))
             .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Groups flattened rows (ordered by pharmacy id) into one response per pharmacy.
+     */
+    public static List<PublicPharmacyWithInventoryResponse> fromRows(List<PublicAvailabilityRow> rows) {
+        List<PublicPharmacyWithInventoryResponse> result = new ArrayList<>();
+        PublicPharmacyWithInventoryResponse current = null;
+        for (PublicAvailabilityRow row : rows) {
+            if (current == null || !current.getId().equals(row.getPharmacyId())) {
+                current = header(row);
+                result.add(current);
+            }
+            current.getInventory().add(InventoryItem.from(row));
+        }
+        return result;
+    }
+
+    // Pharmacy-level fields of a row, with an empty (mutable) inventory list
+    public static PublicPharmacyWithInventoryResponse header(PublicAvailabilityRow row) {
+        return PublicPharmacyWithInventoryResponse.builder()
+            .id(row.getPharmacyId())
+            .name(row.getTradeName() != null && !row.getTradeName().isEmpty() ? row.getTradeName() : row.getLegalEntityName())
+            .address(row.getAddress())
+            .phone(row.getTelephone())
+            .hours(row.getOpeningHoursJson())
+            .type(row.getEntityType())
+            .latitude(row.getLatitude())
+            .longitude(row.getLongitude())
+            .inventory(new ArrayList<>())
+            .build();
+    }
+
+    // Pharmacy-level fields only (inventory = null), used by the delta-sync feed
+    public static PublicPharmacyWithInventoryResponse profile(PharmacyProfileRow row) {
+        return PublicPharmacyWithInventoryResponse.builder()
+            .id(row.getPharmacyId())
+            .name(row.getTradeName() != null && !row.getTradeName().isEmpty() ? row.getTradeName() : row.getLegalEntityName())
+            .address(row.getAddress())
+            .phone(row.getTelephone())
+            .hours(row.getOpeningHoursJson())
+            .type(row.getEntityType())
+            .latitude(row.getLatitude())
+            .longitude(row.getLongitude())
+            .build();
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.backend.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.example.backend.event.InventoryChangedEvent;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Payload of the "stock" SSE event
+@Data
+@AllArgsConstructor
+public class StockUpdateEvent {
+    private Integer pharmacyId;
+    private Integer medicineId;
+    private Integer stock;
+    private BigDecimal price;
+    private boolean inStock;
+    private boolean deleted;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'", timezone = "UTC")
+    private LocalDateTime updatedAt;
+
+    public static StockUpdateEvent from(InventoryChangedEvent e) {
+        return new StockUpdateEvent(
+                e.getPharmacyId(),
+                e.getMedicineId(),
+                e.isDeleted() ? 0 : e.getStock(),
+                e.getPrice(),
+                e.isInStock(),
+                e.isDeleted(),
+                e.getUpdatedAt()
+        );
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Append-only change log behind the public delta-sync feed.
+ *
+ * Rows are inserted inside the writer's transaction, but the identity id follows insert order, not commit
+ * order, so it cannot be the sync position. seq is assigned after the writer commits, one row at a time
+ * under a lock (AvailabilityChangeFeedServiceImpl): once a client can see seq N, every lower seq is
+ * already visible. Rows whose seq is still null are not served yet.
+ */
+@Entity
+@Table(
+        name = "availability_change",
+        indexes = {
+                @Index(name = "idx_availability_change_changed_at", columnList = "changedAt")
+        }
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityChange {
+
+    public enum Kind {
+        INVENTORY,
+        PHARMACY
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // commit-order sequence clients sync against (null until stamped)
+    @Column(unique = true)
+    private Long seq;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Kind kind;
+
+    @Column(nullable = false)
+    private Integer pharmacyId;
+
+    private Integer medicineId; // INVENTORY only
+
+    private boolean deleted;
+
+    @Column(nullable = false)
+    private LocalDateTime changedAt;
+}
@@ -0,0 +1,24 @@
+package com.example.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Single-row counter bumped in every transaction that changes medicine_master.
+ * Other nodes poll it to know when their in-memory catalog is stale.
+ */
+@Entity
+@Table(name = "catalog_version")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogVersion {
+
+    public static final int ROW_ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private Long version;
+}
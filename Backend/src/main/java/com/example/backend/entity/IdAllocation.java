@@ -0,0 +1,19 @@
+package com.example.backend.entity;
+
+/**
+ * Shared settings of the table-backed id generators (one id_allocator row per entity table).
+ *
+ * Hibernate's pooled optimizer reserves BLOCK_SIZE ids per round trip: reading value V and writing
+ * V + BLOCK_SIZE hands out ids V - BLOCK_SIZE + 1 .. V. With ids known before the INSERT,
+ * Hibernate can group inserts into JDBC batches, which IDENTITY columns prevent.
+ */
+public final class IdAllocation {
+
+    public static final String TABLE = "id_allocator";
+    public static final String KEY_COLUMN = "entity";
+    public static final String VALUE_COLUMN = "next_val";
+    public static final int BLOCK_SIZE = 50;
+
+    private IdAllocation() {
+    }
+}
@@ -13,7 +13,10 @@ import java.time.LocalDateTime;
 public class InventoryActivity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "inventory_activity_ids")
+    @TableGenerator(name = "inventory_activity_ids", table = IdAllocation.TABLE, pkColumnName = IdAllocation.KEY_COLUMN,
+            valueColumnName = IdAllocation.VALUE_COLUMN, pkColumnValue = "inventory_activity",
+            allocationSize = IdAllocation.BLOCK_SIZE)
     private Integer id;
 
     @ManyToOne(optional = false)
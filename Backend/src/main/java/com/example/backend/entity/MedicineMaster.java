@@ -7,6 +7,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -17,7 +18,10 @@ import lombok.NoArgsConstructor;
         indexes = {
                 @Index(name = "idx_medicine_generic", columnList = "genericName"),
                 @Index(name = "idx_medicine_brand", columnList = "brandName"),
-                @Index(name = "idx_medicine_regno", columnList = "regNo")
+                @Index(name = "idx_medicine_regno", columnList = "regNo"),
+                // seek paging keys (see AdminMedicineServiceImpl.sortKey): the key, then id as the tie-breaker
+                @Index(name = "idx_medicine_manufacturer", columnList = "manufacturer, id"),
+                @Index(name = "idx_medicine_country", columnList = "country, id")
         }
 )
 @Data
@@ -26,7 +30,10 @@ import lombok.NoArgsConstructor;
 public class MedicineMaster {
 
         @Id
-        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        @GeneratedValue(strategy = GenerationType.TABLE, generator = "medicine_master_ids")
+        @TableGenerator(name = "medicine_master_ids", table = IdAllocation.TABLE, pkColumnName = IdAllocation.KEY_COLUMN,
+                valueColumnName = IdAllocation.VALUE_COLUMN, pkColumnValue = "medicine_master",
+                allocationSize = IdAllocation.BLOCK_SIZE)
         private Integer id;
 
         private String genericName;
@@ -37,6 +44,14 @@ public class MedicineMaster {
         private String regNo;
                 private String dosage;
 
+                // hash of the register (CSV) row last applied to this medicine; null for rows created by admins
+                @Column(length = 64)
+                private String contentHash;
+
+                // TRUE while the row is archived because it left the register, so the sync may re-activate it;
+                // any other status change clears it (null = false: plain INSERTs need not set it)
+                private Boolean archivedBySync;
+
                 // CatalogStatus enum for medicine status
                 private CatalogStatus status;
         
@@ -46,5 +61,6 @@ public class MedicineMaster {
         
                 public void setStatus(CatalogStatus status) {
                     this.status = status;
+                    this.archivedBySync = null;
                 }
 }
@@ -0,0 +1,28 @@
+package com.example.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Aggregated demand per medicine, written in batches by MedicinePopularityService.
+ */
+@Entity
+@Table(name = "medicine_popularity")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MedicinePopularity {
+
+    @Id
+    private Integer medicineId;
+
+    @Column(nullable = false)
+    private long searchCount;
+
+    @Column(nullable = false)
+    private long selectCount;
+
+    private LocalDateTime updatedAt;
+}
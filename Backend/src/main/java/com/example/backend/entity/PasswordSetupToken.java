@@ -13,7 +13,10 @@ import java.time.LocalDateTime;
 public class PasswordSetupToken {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "password_setup_token_ids")
+    @TableGenerator(name = "password_setup_token_ids", table = IdAllocation.TABLE, pkColumnName = IdAllocation.KEY_COLUMN,
+            valueColumnName = IdAllocation.VALUE_COLUMN, pkColumnValue = "password_setup_token",
+            allocationSize = IdAllocation.BLOCK_SIZE)
     private Long id;
 
     /**
@@ -21,13 +21,21 @@ import jakarta.persistence.UniqueConstraint;
                 @UniqueConstraint(columnNames = "email"),
                 @UniqueConstraint(columnNames = "business_reg_no"),
                 @UniqueConstraint(columnNames = "nmra_license")
+        },
+        indexes = {
+                // admin table keyset order: (createdAt desc, id desc), optionally within one status
+                @Index(name = "idx_pharmacy_created", columnList = "createdAt, id"),
+                @Index(name = "idx_pharmacy_status_created", columnList = "status, createdAt, id")
         }
 )
 public class Pharmacy {
 
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "pharmacy_ids")
+    @TableGenerator(name = "pharmacy_ids", table = IdAllocation.TABLE, pkColumnName = IdAllocation.KEY_COLUMN,
+            valueColumnName = IdAllocation.VALUE_COLUMN, pkColumnValue = "pharmacy",
+            allocationSize = IdAllocation.BLOCK_SIZE)
     private Integer id;
 
     // ===== Business Details =====
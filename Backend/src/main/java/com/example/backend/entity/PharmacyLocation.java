@@ -14,7 +14,10 @@ import java.time.LocalDateTime;
 public class PharmacyLocation {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "pharmacy_location_ids")
+    @TableGenerator(name = "pharmacy_location_ids", table = IdAllocation.TABLE, pkColumnName = IdAllocation.KEY_COLUMN,
+            valueColumnName = IdAllocation.VALUE_COLUMN, pkColumnValue = "pharmacy_location",
+            allocationSize = IdAllocation.BLOCK_SIZE)
     private Integer id;
 
     @OneToOne(fetch = FetchType.LAZY, optional = false)
@@ -11,7 +11,10 @@ import lombok.*;
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "app_user_ids")
+    @TableGenerator(name = "app_user_ids", table = IdAllocation.TABLE, pkColumnName = IdAllocation.KEY_COLUMN,
+            valueColumnName = IdAllocation.VALUE_COLUMN, pkColumnValue = "app_user",
+            allocationSize = IdAllocation.BLOCK_SIZE)
     private Integer id;
 
     private String username;
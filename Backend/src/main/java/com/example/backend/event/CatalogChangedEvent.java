@@ -0,0 +1,52 @@
+package com.example.backend.event;
+
+import com.example.backend.dto.response.MedicineMasterDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published after medicine_master changes.
+ * - upserted: medicine holds the new state
+ * - deleted:  medicine is null
+ * - reloaded: medicineId is null (bulk change, listeners should reload everything)
+ * - remoteReload: reload triggered by another node's change (already counted in catalog_version)
+ * - initialLoad:  first load of every catalog view at startup (nothing changed, nothing to count)
+ * Only local writes (localWrite) are counted in catalog_version for other nodes.
+ */
+@Getter
+@AllArgsConstructor
+public class CatalogChangedEvent {
+
+    private final Integer medicineId;
+    private final MedicineMasterDto medicine;
+    private final boolean localWrite;
+
+    public static CatalogChangedEvent upserted(MedicineMasterDto medicine) {
+        return new CatalogChangedEvent(medicine.getId(), medicine, true);
+    }
+
+    public static CatalogChangedEvent deleted(Integer medicineId) {
+        return new CatalogChangedEvent(medicineId, null, true);
+    }
+
+    public static CatalogChangedEvent reloaded() {
+        return new CatalogChangedEvent(null, null, true);
+    }
+
+    public static CatalogChangedEvent remoteReload() {
+        return new CatalogChangedEvent(null, null, false);
+    }
+
+    public static CatalogChangedEvent initialLoad() {
+        return new CatalogChangedEvent(null, null, false);
+    }
+
+    public boolean isReload() {
+        return medicineId == null;
+    }
+
+    public boolean isDeleted() {
+        return medicineId != null && medicine == null;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.backend.event;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.example.backend.entity.Pharmacy;
+import com.example.backend.entity.PharmacyInventoryItem;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published after a pharmacy_inventory row is added, updated or deleted.
+ */
+@Getter
+@AllArgsConstructor
+public class InventoryChangedEvent {
+
+    private final Integer inventoryId;
+    private final Integer pharmacyId;
+    private final String pharmacyName;
+    private final Integer medicineId;
+    private final Integer stock;
+    private final BigDecimal price;
+    private final LocalDateTime updatedAt;
+    private final boolean deleted;
+
+    public static InventoryChangedEvent saved(PharmacyInventoryItem item) {
+        return of(item, false);
+    }
+
+    public static InventoryChangedEvent deleted(PharmacyInventoryItem item) {
+        return of(item, true);
+    }
+
+    public boolean isInStock() {
+        return !deleted && stock != null && stock > 0;
+    }
+
+    private static InventoryChangedEvent of(PharmacyInventoryItem item, boolean deleted) {
+        Pharmacy p = item.getPharmacy();
+        String name = p.getTradeName() != null && !p.getTradeName().isEmpty() ? p.getTradeName() : p.getLegalEntityName();
+        return new InventoryChangedEvent(
+                item.getId(),
+                p.getId(),
+                name,
+                item.getMedicine().getId(),
+                item.getStock(),
+                item.getPrice(),
+                item.getUpdatedAt(),
+                deleted
+        );
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.backend.event;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by the public listing projection when the clock moved pharmacies across an opening/closing time.
+ */
+@Getter
+@AllArgsConstructor
+public class OpeningStatusChangedEvent {
+
+    private final List<Integer> pharmacyIds;
+}
@@ -0,0 +1,31 @@
+package com.example.backend.event;
+
+import com.example.backend.entity.Pharmacy;
+import com.example.backend.entity.PharmacyLocation;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published after a pharmacy_location row is created or its coordinates change.
+ * latitude/longitude are null when the pharmacy no longer has a usable position.
+ */
+@Getter
+@AllArgsConstructor
+public class PharmacyLocationChangedEvent {
+
+    private final Integer pharmacyId;
+    private final String pharmacyName;
+    private final Double latitude;
+    private final Double longitude;
+
+    public static PharmacyLocationChangedEvent of(Pharmacy p, PharmacyLocation loc) {
+        String name = p.getTradeName() != null && !p.getTradeName().isEmpty() ? p.getTradeName() : p.getLegalEntityName();
+        return new PharmacyLocationChangedEvent(
+                p.getId(),
+                name,
+                loc != null ? loc.getLatitude() : null,
+                loc != null ? loc.getLongitude() : null
+        );
+    }
+}
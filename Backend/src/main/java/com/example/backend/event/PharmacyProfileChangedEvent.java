@@ -0,0 +1,14 @@
+package com.example.backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published after public-facing pharmacy fields (name, phone, address, opening hours, ...) change.
+ */
+@Getter
+@AllArgsConstructor
+public class PharmacyProfileChangedEvent {
+
+    private final Integer pharmacyId;
+}
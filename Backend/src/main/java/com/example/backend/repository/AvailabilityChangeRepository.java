@@ -0,0 +1,35 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.AvailabilityChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface AvailabilityChangeRepository extends JpaRepository<AvailabilityChange, Long> {
+
+    List<AvailabilityChange> findBySeqGreaterThanOrderBySeqAsc(Long since, Limit limit);
+
+    @Query("select max(c.seq) from AvailabilityChange c")
+    Long findMaxSeq();
+
+    @Query("select min(c.seq) from AvailabilityChange c")
+    Long findMinSeq();
+
+    // committed rows still waiting for their sequence number, oldest first
+    @Query("select c.id from AvailabilityChange c where c.seq is null order by c.id")
+    List<Long> findUnsequencedIds();
+
+    // 0 when the row is gone or already stamped
+    @Modifying
+    @Query("update AvailabilityChange c set c.seq = :seq where c.id = :id and c.seq is null")
+    int assignSeq(@Param("id") Long id, @Param("seq") Long seq);
+
+    @Modifying
+    @Query("delete from AvailabilityChange c where c.changedAt < :cutoff and c.seq < :headSeq")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff, @Param("headSeq") Long headSeq);
+}
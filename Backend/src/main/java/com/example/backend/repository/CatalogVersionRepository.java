@@ -0,0 +1,20 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.CatalogVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface CatalogVersionRepository extends JpaRepository<CatalogVersion, Integer> {
+
+    // Upsert so the first write creates the row (MySQL)
+    @Modifying
+    @Transactional
+    @Query(value = "insert into catalog_version (id, version) values (1, 1) on duplicate key update version = version + 1",
+            nativeQuery = true)
+    void bump();
+
+    @Query("select v.version from CatalogVersion v where v.id = 1")
+    Long findCurrentVersion();
+}
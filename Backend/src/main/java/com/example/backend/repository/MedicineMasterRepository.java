@@ -1,27 +1,41 @@
 package com.example.backend.repository;
 
+import com.example.backend.dto.response.MedicineMasterDto;
 import com.example.backend.entity.MedicineMaster;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface MedicineMasterRepository extends JpaRepository<MedicineMaster, Integer>, JpaSpecificationExecutor<MedicineMaster> {
 
     Optional<MedicineMaster> findByRegNo(String regNo);
 
-    // Autocomplete (top 10)
-    List<MedicineMaster> findTop10ByGenericNameStartingWithIgnoreCaseOrBrandNameStartingWithIgnoreCase(
-            String genericName,
-            String brandName
-    );
-    @Query("select distinct m.manufacturer from MedicineMaster m where m.manufacturer is not null and m.manufacturer <> '' order by m.manufacturer")
-    List<String> findDistinctManufacturers();
-
-    @Query("select distinct m.brandName from MedicineMaster m where m.brandName is not null and m.brandName <> '' order by m.brandName")
-    List<String> findDistinctBrandNames();
+    // Whole catalog as DTOs, used to build the in-memory search indexes
+    @Query("select new com.example.backend.dto.response.MedicineMasterDto(m.id, m.genericName, m.brandName, m.manufacturer, m.country, m.regNo, m.status, m.dosage) from MedicineMaster m order by m.id")
+    List<MedicineMasterDto> findAllDtos();
+
+    // Bulk upsert pre-check: current state of one batch of regNos in a single query
+    @Query("select new com.example.backend.dto.response.MedicineMasterDto(m.id, m.genericName, m.brandName, m.manufacturer, m.country, m.regNo, m.status, m.dosage) from MedicineMaster m where m.regNo in :regNos")
+    List<MedicineMasterDto> findDtosByRegNoIn(@Param("regNos") Collection<String> regNos);
+
+    // Streaming read of the whole catalog as DTOs (no managed entities).
+    // Fetch size MIN_VALUE makes MySQL Connector/J stream rows instead of buffering the result set.
+    // Must be consumed inside a (read-only) transaction and closed.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.example.backend.dto.response.MedicineMasterDto(m.id, m.genericName, m.brandName, m.manufacturer, m.country, m.regNo, m.status, m.dosage) from MedicineMaster m order by m.id")
+    Stream<MedicineMasterDto> streamAllDtos();
 
 }
@@ -0,0 +1,7 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.MedicinePopularity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface MedicinePopularityRepository extends JpaRepository<MedicinePopularity, Integer> {
+}
@@ -1,15 +1,105 @@
 package com.example.backend.repository;
 
+import com.example.backend.dto.projection.InventoryStockRow;
+import com.example.backend.dto.projection.PublicAvailabilityRow;
 import com.example.backend.entity.Pharmacy;
 import com.example.backend.entity.PharmacyInventoryItem;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface PharmacyInventoryRepository extends JpaRepository<PharmacyInventoryItem, Integer> {
 
     List<PharmacyInventoryItem> findByPharmacyOrderByIdDesc(Pharmacy pharmacy);
 
     Optional<PharmacyInventoryItem> findByPharmacyIdAndMedicineId(Integer pharmacyId, Integer medicineId);
+
+    // Public listing: pharmacy + location + inventory + medicine in ONE query (no per-pharmacy lookups)
+    @Query("""
+            select new com.example.backend.dto.projection.PublicAvailabilityRow(
+                p.id, p.tradeName, p.legalEntityName, p.addressInSriLanka, p.telephone, p.openingHoursJson, p.entityType,
+                l.latitude, l.longitude,
+                i.id, m.id, m.genericName, m.brandName, m.dosage, i.stock, i.price, i.updatedAt)
+            from PharmacyInventoryItem i
+            join i.pharmacy p
+            join i.medicine m
+            left join PharmacyLocation l on l.pharmacy = p
+            order by p.id, i.id desc
+            """)
+    List<PublicAvailabilityRow> findPublicAvailabilityRows();
+
+    // Same projection as a forward-only stream (MySQL row streaming), for the streaming JSON endpoint
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select new com.example.backend.dto.projection.PublicAvailabilityRow(
+                p.id, p.tradeName, p.legalEntityName, p.addressInSriLanka, p.telephone, p.openingHoursJson, p.entityType,
+                l.latitude, l.longitude,
+                i.id, m.id, m.genericName, m.brandName, m.dosage, i.stock, i.price, i.updatedAt)
+            from PharmacyInventoryItem i
+            join i.pharmacy p
+            join i.medicine m
+            left join PharmacyLocation l on l.pharmacy = p
+            order by p.id, i.id desc
+            """)
+    Stream<PublicAvailabilityRow> streamPublicAvailabilityRows();
+
+    // Same projection, limited to one page of pharmacies (and to one medicine when medicineId is given)
+    @Query("""
+            select new com.example.backend.dto.projection.PublicAvailabilityRow(
+                p.id, p.tradeName, p.legalEntityName, p.addressInSriLanka, p.telephone, p.openingHoursJson, p.entityType,
+                l.latitude, l.longitude,
+                i.id, m.id, m.genericName, m.brandName, m.dosage, i.stock, i.price, i.updatedAt)
+            from PharmacyInventoryItem i
+            join i.pharmacy p
+            join i.medicine m
+            left join PharmacyLocation l on l.pharmacy = p
+            where p.id in :pharmacyIds
+              and (:inStockOnly = false or i.stock > 0)
+              and (:medicineId is null or m.id = :medicineId)
+            order by p.id, i.id desc
+            """)
+    List<PublicAvailabilityRow> findPublicAvailabilityRowsForPharmacies(
+            @Param("pharmacyIds") List<Integer> pharmacyIds,
+            @Param("inStockOnly") boolean inStockOnly,
+            @Param("medicineId") Integer medicineId
+    );
+
+    // Availability index bootstrap: every in-stock row, one query
+    @Query("""
+            select new com.example.backend.dto.projection.InventoryStockRow(
+                p.id, p.tradeName, p.legalEntityName, i.medicine.id, i.stock, i.price, i.updatedAt)
+            from PharmacyInventoryItem i
+            join i.pharmacy p
+            where i.stock > 0
+            """)
+    List<InventoryStockRow> findAllInStockRows();
+
+    // Delta feed: current rows for a set of changed (pharmacy, medicine) keys (exact pairs are filtered by the caller)
+    @Query("""
+            select new com.example.backend.dto.projection.PublicAvailabilityRow(
+                p.id, p.tradeName, p.legalEntityName, p.addressInSriLanka, p.telephone, p.openingHoursJson, p.entityType,
+                l.latitude, l.longitude,
+                i.id, m.id, m.genericName, m.brandName, m.dosage, i.stock, i.price, i.updatedAt)
+            from PharmacyInventoryItem i
+            join i.pharmacy p
+            join i.medicine m
+            left join PharmacyLocation l on l.pharmacy = p
+            where p.id in :pharmacyIds
+              and m.id in :medicineIds
+            """)
+    List<PublicAvailabilityRow> findPublicAvailabilityRowsFor(
+            @Param("pharmacyIds") Collection<Integer> pharmacyIds,
+            @Param("medicineIds") Collection<Integer> medicineIds
+    );
 }
@@ -1,11 +1,24 @@
 package com.example.backend.repository;
 
+import com.example.backend.dto.projection.PharmacyGeoPoint;
 import com.example.backend.entity.Pharmacy;
 import com.example.backend.entity.PharmacyLocation;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface PharmacyLocationRepository extends JpaRepository<PharmacyLocation, Integer> {
     Optional<PharmacyLocation> findByPharmacy(Pharmacy pharmacy);
+
+    // Geo index bootstrap: every located pharmacy in one query
+    @Query("""
+            select new com.example.backend.dto.projection.PharmacyGeoPoint(
+                p.id, p.tradeName, p.legalEntityName, l.latitude, l.longitude)
+            from PharmacyLocation l
+            join l.pharmacy p
+            where l.latitude is not null and l.longitude is not null
+            """)
+    List<PharmacyGeoPoint> findAllGeoPoints();
 }
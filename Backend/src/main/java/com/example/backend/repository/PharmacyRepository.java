@@ -1,11 +1,19 @@
 package com.example.backend.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.example.backend.dto.projection.PharmacyHoursRow;
+import com.example.backend.dto.projection.PharmacyProfileRow;
 import com.example.backend.entity.Pharmacy;
 import com.example.backend.entity.PharmacyStatus;
 
@@ -29,4 +37,81 @@ public interface PharmacyRepository extends JpaRepository<Pharmacy, Integer> {
             PharmacyStatus status, String q, Pageable pageable
     );
 
+    // Admin keyset page, (createdAt desc, id desc); MySQL sorts null createdAt last in descending order.
+    // first = true ignores the cursor; otherwise rows strictly after (afterCreatedAt, afterId) are returned.
+    @Query("""
+            select p from Pharmacy p
+            where (:status is null or p.status = :status)
+              and (:q is null or lower(p.legalEntityName) like lower(concat('%', :q, '%')))
+              and (:first = true
+                   or (:afterCreatedAt is not null
+                       and (p.createdAt < :afterCreatedAt
+                            or (p.createdAt = :afterCreatedAt and p.id < :afterId)
+                            or p.createdAt is null))
+                   or (:afterCreatedAt is null and p.createdAt is null and p.id < :afterId))
+            order by p.createdAt desc, p.id desc
+            """)
+    List<Pharmacy> findAdminPageAfter(
+            @Param("status") PharmacyStatus status,
+            @Param("q") String q,
+            @Param("first") boolean first,
+            @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+            @Param("afterId") Integer afterId,
+            Limit limit
+    );
+
+    @Query("""
+            select count(p) from Pharmacy p
+            where (:status is null or p.status = :status)
+              and (:q is null or lower(p.legalEntityName) like lower(concat('%', :q, '%')))
+            """)
+    long countForAdmin(@Param("status") PharmacyStatus status, @Param("q") String q);
+
+    // Public keyset page: ids after the cursor that match the filters (null filter = not applied)
+    @Query("""
+            select p.id from Pharmacy p
+            left join PharmacyLocation l on l.pharmacy = p
+            where p.id > :afterId
+              and (:entityType is null or lower(p.entityType) = lower(:entityType))
+              and (:minLat is null or l.latitude >= :minLat)
+              and (:maxLat is null or l.latitude <= :maxLat)
+              and (:minLng is null or l.longitude >= :minLng)
+              and (:maxLng is null or l.longitude <= :maxLng)
+              and exists (
+                  select i.id from PharmacyInventoryItem i
+                  where i.pharmacy = p
+                    and (:inStockOnly = false or i.stock > 0)
+                    and (:medicineId is null or i.medicine.id = :medicineId))
+            order by p.id
+            """)
+    List<Integer> findPublicPageIds(
+            @Param("afterId") Integer afterId,
+            @Param("inStockOnly") boolean inStockOnly,
+            @Param("entityType") String entityType,
+            @Param("medicineId") Integer medicineId,
+            @Param("minLat") Double minLat,
+            @Param("minLng") Double minLng,
+            @Param("maxLat") Double maxLat,
+            @Param("maxLng") Double maxLng,
+            Limit limit
+    );
+
+    // Delta feed: public profile + location of changed pharmacies
+    @Query("""
+            select new com.example.backend.dto.projection.PharmacyProfileRow(
+                p.id, p.tradeName, p.legalEntityName, p.addressInSriLanka, p.telephone, p.openingHoursJson, p.entityType,
+                l.latitude, l.longitude)
+            from Pharmacy p
+            left join PharmacyLocation l on l.pharmacy = p
+            where p.id in :ids
+            """)
+    List<PharmacyProfileRow> findProfileRows(@Param("ids") Collection<Integer> ids);
+
+    @Query("""
+            select new com.example.backend.dto.projection.PharmacyHoursRow(p.id, p.openingHoursJson)
+            from Pharmacy p
+            where p.openingHoursJson is not null and p.openingHoursJson <> ''
+            """)
+    List<PharmacyHoursRow> findAllOpeningHours();
+
 }
@@ -8,18 +8,28 @@ import com.example.backend.dto.request.AdminMedicineCreateRequest;
 import com.example.backend.dto.request.AdminMedicineUpdateRequest;
 import com.example.backend.dto.response.AdminMedicineRowResponse;
 import com.example.backend.dto.response.AdminMedicineSuggestItem;
+import com.example.backend.dto.response.KeysetPageResponse;
+import com.example.backend.dto.response.MedicineFacetsResponse;
 
 public interface AdminMedicineService {
         long count();
     Page<AdminMedicineRowResponse> list(String q, String status, String manufacturer, String country, String brandName, int page, int size, String sort);
+
+    // Keyset variant of list(): same filters and sort ("field,dir" on a text column or id), cursor instead of page number
+    KeysetPageResponse<AdminMedicineRowResponse> seek(String q, String status, String manufacturer, String country,
+                                                     String brandName, String sort, String cursor, int size,
+                                                     boolean withTotal);
     AdminMedicineRowResponse create(AdminMedicineCreateRequest req);
     AdminMedicineRowResponse update(Integer id, AdminMedicineUpdateRequest req);
     void delete(Integer id);
 
 
     AdminMedicineRowResponse getOne(Integer id);
-    List<AdminMedicineSuggestItem> suggest(String q);
+    List<AdminMedicineSuggestItem> suggest(String q, boolean fuzzy);
     List<String> manufacturers();
     List<String> brands();
 
+    // value -> count per filter column, narrowed by the current filters/query
+    MedicineFacetsResponse facets(String q, String status, String manufacturer, String country, String brandName);
+
 }
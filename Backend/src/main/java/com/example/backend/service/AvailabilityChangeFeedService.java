@@ -0,0 +1,12 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.response.AvailabilityChangesResponse;
+
+public interface AvailabilityChangeFeedService {
+
+    // changes with sequence > since, collapsed to the latest state per row
+    AvailabilityChangesResponse changesSince(long since, int limit);
+
+    // current head of the change sequence (take it BEFORE a full listing download, then poll changes from it)
+    long headVersion();
+}
@@ -0,0 +1,33 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.response.CatalogImportStatusResponse;
+
+/**
+ * Readiness of the medicine catalog while the bootstrap import runs in the background.
+ * Catalog-dependent endpoints answer 503 until isReady(): the table is filled (markReady)
+ * and the in-memory catalog views have loaded at least once (markCatalogLoaded).
+ */
+public interface CatalogImportStatusService {
+
+    enum State {
+        STARTING,   // importer has not checked the table yet
+        IMPORTING,  // empty table is being filled
+        READY,
+        FAILED      // import stopped; a restart resumes it through the differential sync
+    }
+
+    void markImporting();
+
+    void addProgress(long rows);
+
+    void markReady();
+
+    void markFailed(String error);
+
+    // the startup load of the in-memory catalog views has finished
+    void markCatalogLoaded();
+
+    boolean isReady();
+
+    CatalogImportStatusResponse status();
+}
@@ -0,0 +1,17 @@
+package com.example.backend.service;
+
+/**
+ * Monotonic data versions used to build strong ETags for polled public endpoints.
+ */
+public interface DataVersionService {
+
+    // bumped on inventory, pharmacy, location and catalog writes
+    long availabilityVersion();
+
+    // bumped on catalog (medicine_master) writes only
+    long catalogVersion();
+
+    String availabilityEtag();
+
+    String catalogEtag();
+}
@@ -0,0 +1,10 @@
+package com.example.backend.service;
+
+public interface IdAllocatorService {
+
+    /**
+     * Reserves count consecutive ids for an entity table from the same id_allocator row Hibernate uses,
+     * for rows inserted with plain JDBC. Returns the first id of the block.
+     */
+    long reserve(String table, int count);
+}
@@ -0,0 +1,22 @@
+package com.example.backend.service;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+import com.example.backend.dto.response.MedicineAvailabilityResponse;
+
+public interface MedicineAvailabilityIndexService {
+
+    /**
+     * In-stock pharmacies for a medicine.
+     * sort = "distance" (needs lat/lng, falls back to price) or "price".
+     * filter (nullable) is applied to pharmacy ids, e.g. the open-now filter.
+     */
+    List<MedicineAvailabilityResponse> findInStock(Integer medicineId, Double lat, Double lng, Double radiusKm,
+                                                   String sort, int limit, Predicate<Integer> filter);
+
+    // number of distinct medicines this pharmacy currently has in stock
+    int inStockCount(Integer pharmacyId);
+
+    void reload();
+}
@@ -0,0 +1,14 @@
+package com.example.backend.service;
+
+import java.io.InputStream;
+
+import com.example.backend.dto.response.BulkUpsertResult;
+
+public interface MedicineBulkUpsertService {
+
+    // CSV with a header row (NMRA register layout: genericName,brandName,manufacturer,country,regNo,dosage,...)
+    BulkUpsertResult upsertCsv(InputStream in);
+
+    // one JSON object per line
+    BulkUpsertResult upsertJsonLines(InputStream in);
+}
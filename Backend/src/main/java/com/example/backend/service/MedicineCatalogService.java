@@ -1,15 +1,27 @@
 package com.example.backend.service;
 
+import java.io.OutputStream;
 import java.util.List;
 
 import com.example.backend.dto.response.MedicineMasterDto;
 import com.example.backend.dto.response.MedicineSuggestResponse;
-import com.example.backend.entity.MedicineMaster;
 
 public interface MedicineCatalogService {
-    List<MedicineSuggestResponse> suggest(String q);
+    // prefix match; fuzzy=true (or no prefix hit) switches to typo-tolerant matching
+    List<MedicineSuggestResponse> suggest(String q, boolean fuzzy);
 
-    MedicineMaster getOne(Integer id);
+    // ranked full-text search (all words must match, any order)
+    List<MedicineSuggestResponse> search(String q, int limit);
+
+    // counts a pick from the suggestion list towards the medicine's popularity
+    void recordSelection(Integer id);
+
+    MedicineMasterDto getOne(Integer id);
+
+    MedicineMasterDto getByRegNo(String regNo);
 
     List<MedicineMasterDto> getAll();
+
+    // Writes the whole catalog as a JSON array while rows are read (constant heap)
+    void streamAll(OutputStream out);
 }
@@ -0,0 +1,26 @@
+package com.example.backend.service;
+
+import java.util.List;
+
+import com.example.backend.dto.response.CatalogMemoryReportResponse;
+import com.example.backend.dto.response.MedicineMasterDto;
+
+public interface MedicineCatalogSnapshotService {
+
+    // whole catalog ordered by id (immutable view; each row is decoded when read)
+    List<MedicineMasterDto> all();
+
+    // null when absent
+    MedicineMasterDto byId(Integer id);
+
+    // case-insensitive; null when absent
+    MedicineMasterDto byRegNo(String regNo);
+
+    // local snapshot version, +1 per applied change
+    long version();
+
+    // estimated heap of the snapshot compared with a plain List<MedicineMasterDto>
+    CatalogMemoryReportResponse memoryReport();
+
+    void reload();
+}
@@ -0,0 +1,18 @@
+package com.example.backend.service;
+
+import java.util.List;
+
+import com.example.backend.dto.response.MedicineFacetsResponse;
+
+public interface MedicineFacetService {
+
+    // value -> count for manufacturer, brand, country and status; null/blank filters are not applied
+    MedicineFacetsResponse facets(String q, String status, String manufacturer, String country, String brandName);
+
+    // distinct non-blank values, case-insensitive order
+    List<String> manufacturers();
+
+    List<String> brands();
+
+    void reload();
+}
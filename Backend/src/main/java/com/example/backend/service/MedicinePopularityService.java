@@ -0,0 +1,16 @@
+package com.example.backend.service;
+
+public interface MedicinePopularityService {
+
+    // a user looked up availability for this medicine
+    void recordSearch(Integer medicineId);
+
+    // a user picked this medicine from a suggestion list
+    void recordSelection(Integer medicineId);
+
+    // suggestion ranking weight: searches plus weighted selections, including not yet flushed counts
+    long score(Integer medicineId);
+
+    // write pending counts to medicine_popularity
+    void flush();
+}
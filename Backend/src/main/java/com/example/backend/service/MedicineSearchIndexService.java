@@ -0,0 +1,29 @@
+package com.example.backend.service;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+import com.example.backend.dto.response.MedicineMasterDto;
+
+public interface MedicineSearchIndexService {
+
+    // medicines whose generic or brand name starts with q (case-insensitive), ordered by the matched name
+    List<MedicineMasterDto> suggest(String q, int limit);
+
+    // same matches, the `limit` with the highest score across the whole prefix range
+    // (equal scores keep name order)
+    List<MedicineMasterDto> suggest(String q, int limit, ToLongFunction<Integer> score);
+
+    // typo-tolerant match on generic/brand names (trigram candidates re-ranked by edit distance), best first
+    List<MedicineMasterDto> fuzzy(String q, int limit);
+
+    // full-text match over generic name, brand, dosage, manufacturer and regNo:
+    // every query token must match (the last one as a prefix), ranked by relevance
+    List<MedicineMasterDto> search(String q, int limit);
+
+    // case-insensitive substring of generic name, brand or regNo (the admin list's former '%q%' rule), id order;
+    // a catalog scan, used only when search() finds nothing
+    List<MedicineMasterDto> containing(String q);
+
+    void reload();
+}
@@ -0,0 +1,26 @@
+package com.example.backend.service;
+
+import java.time.LocalDateTime;
+import java.util.function.Predicate;
+
+public interface OpeningHoursService {
+
+    // Open status is null (unknown) for pharmacies that have not entered (valid) opening hours
+
+    Boolean isOpenNow(Integer pharmacyId);
+
+    // localTime is wall-clock time in the pharmacies' time zone
+    Boolean isOpenAt(Integer pharmacyId, LocalDateTime localTime);
+
+    // minuteOfWeek as computed by WeeklySchedule.minuteOfWeek, for evaluating many pharmacies at one instant
+    Boolean isOpenAt(Integer pharmacyId, int minuteOfWeek);
+
+    // current wall-clock time in the pharmacies' time zone
+    LocalDateTime now();
+
+    // pharmacy id filter for openNow / openAt request params; null when neither is set.
+    // Pharmacies with unknown hours pass (they are not known to be closed).
+    Predicate<Integer> openFilter(boolean openNow, LocalDateTime openAt);
+
+    void reload();
+}
@@ -0,0 +1,13 @@
+package com.example.backend.service;
+
+import java.util.List;
+
+import com.example.backend.dto.response.PharmacyClusterResponse;
+
+public interface PharmacyClusterService {
+
+    // grid clusters overlapping the box, at the resolution for the given map zoom level
+    List<PharmacyClusterResponse> clusters(double minLng, double minLat, double maxLng, double maxLat, int zoom);
+
+    void reload();
+}
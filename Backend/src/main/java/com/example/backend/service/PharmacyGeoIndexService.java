@@ -0,0 +1,18 @@
+package com.example.backend.service;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+import com.example.backend.dto.projection.PharmacyGeoPoint;
+import com.example.backend.dto.response.NearbyPharmacyResponse;
+
+public interface PharmacyGeoIndexService {
+
+    // k nearest pharmacies within radiusKm, closest first; filter (nullable) is applied to pharmacy ids before ranking
+    List<NearbyPharmacyResponse> nearest(double latitude, double longitude, double radiusKm, int k, Predicate<Integer> filter);
+
+    // null when the pharmacy has no known position
+    PharmacyGeoPoint locate(Integer pharmacyId);
+
+    void reload();
+}
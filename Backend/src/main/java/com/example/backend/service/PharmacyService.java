@@ -3,6 +3,7 @@ package com.example.backend.service;
 import org.springframework.data.domain.Page;
 
 import com.example.backend.dto.request.PharmacyRegisterRequest;
+import com.example.backend.dto.response.KeysetPageResponse;
 import com.example.backend.dto.response.PharmacyApproveResponse;
 import com.example.backend.dto.response.PharmacyRowResponse;
 
@@ -19,4 +20,8 @@ public interface PharmacyService {
     void rejectPharmacy(Integer pharmacyId, String reason);
     Object getPharmaciesByStatus(String status, int page, int size);
 
+    // Keyset variant of the admin table (newest first): cost does not grow with depth; total only when withTotal
+    KeysetPageResponse<PharmacyRowResponse> seekPharmaciesForAdmin(String status, String q, String cursor, int size,
+                                                                   boolean withTotal);
+
 }
@@ -0,0 +1,20 @@
+package com.example.backend.service;
+
+import java.util.List;
+
+import com.example.backend.dto.response.PublicPharmacyWithInventoryResponse;
+
+/**
+ * Denormalized, always-built read model of the public pharmacies-with-inventory listing.
+ */
+public interface PublicAvailabilityProjectionService {
+
+    // current listing, ordered by pharmacy id (immutable)
+    List<PublicPharmacyWithInventoryResponse> snapshot();
+
+    // re-project one pharmacy from the database (removes it if it has no inventory any more)
+    void refreshPharmacy(Integer pharmacyId);
+
+    // recovery: rebuild everything from scratch, returns the number of pharmacies projected
+    int rebuild();
+}
@@ -0,0 +1,22 @@
+package com.example.backend.service;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.example.backend.dto.response.PublicPharmacyPageResponse;
+import com.example.backend.dto.response.PublicPharmacyWithInventoryResponse;
+
+public interface PublicAvailabilityService {
+    List<PublicPharmacyWithInventoryResponse> getPharmaciesWithInventory();
+
+    PublicPharmacyPageResponse getPharmaciesWithInventoryPage(
+            String cursor, int size,
+            boolean inStockOnly, String entityType, Integer medicineId,
+            Double minLat, Double minLng, Double maxLat, Double maxLng,
+            boolean openNow, LocalDateTime openAt
+    );
+
+    // Writes the full listing ({success, message, data:[...]}) while rows are read from the database
+    void streamPharmaciesWithInventory(OutputStream out);
+}
@@ -0,0 +1,11 @@
+package com.example.backend.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface StockUpdateStreamService {
+
+    // medicineId and the bounding box are optional filters; all of them must match when given
+    SseEmitter subscribe(Integer medicineId, Double minLat, Double minLng, Double maxLat, Double maxLng);
+
+    int subscriberCount();
+}
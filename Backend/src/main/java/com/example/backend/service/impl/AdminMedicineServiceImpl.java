@@ -1,40 +1,69 @@
 package com.example.backend.service.impl;
 
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
+import java.util.function.Function;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.example.backend.dto.request.AdminMedicineCreateRequest;
 import com.example.backend.dto.request.AdminMedicineUpdateRequest;
 import com.example.backend.dto.response.AdminMedicineRowResponse;
 import com.example.backend.dto.response.AdminMedicineSuggestItem;
+import com.example.backend.dto.response.KeysetPageResponse;
+import com.example.backend.dto.response.MedicineFacetsResponse;
+import com.example.backend.dto.response.MedicineMasterDto;
 import com.example.backend.entity.CatalogStatus;
 import com.example.backend.entity.MedicineMaster;
+import com.example.backend.event.CatalogChangedEvent;
 import com.example.backend.repository.MedicineMasterRepository;
 import com.example.backend.service.AdminMedicineService;
+import com.example.backend.service.MedicineFacetService;
+import com.example.backend.service.MedicinePopularityService;
+import com.example.backend.service.MedicineSearchIndexService;
+import com.example.backend.util.CursorCodec;
 
 import jakarta.persistence.criteria.Predicate;
 
 @Service
 @Transactional
 public class AdminMedicineServiceImpl implements AdminMedicineService {
+    private static final int MAX_SEEK_SIZE = 200;
+
     @Override
     public long count() {
         return repo.count();
     }
 
     private final MedicineMasterRepository repo;
-
-    public AdminMedicineServiceImpl(MedicineMasterRepository repo) {
+    private final ApplicationEventPublisher eventPublisher;
+    private final MedicineSearchIndexService searchIndexService;
+    private final MedicinePopularityService popularityService;
+    private final MedicineFacetService facetService;
+
+    public AdminMedicineServiceImpl(
+            MedicineMasterRepository repo,
+            ApplicationEventPublisher eventPublisher,
+            MedicineSearchIndexService searchIndexService,
+            MedicinePopularityService popularityService,
+            MedicineFacetService facetService
+    ) {
         this.repo = repo;
+        this.eventPublisher = eventPublisher;
+        this.searchIndexService = searchIndexService;
+        this.popularityService = popularityService;
+        this.facetService = facetService;
     }
     private AdminMedicineRowResponse mapRow(MedicineMaster m) {
         return new AdminMedicineRowResponse(
@@ -48,33 +77,56 @@ public class AdminMedicineServiceImpl implements AdminMedicineService {
         );
     }
 
+    // dropdown values come from the in-memory facet counts (no select distinct per request)
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<String> manufacturers() {
-        return repo.findDistinctManufacturers();
+        return facetService.manufacturers();
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<String> brands() {
-        return repo.findDistinctBrandNames();
+        return facetService.brands();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public MedicineFacetsResponse facets(String q, String status, String manufacturer, String country, String brandName) {
+        return facetService.facets(q, status, manufacturer, country, brandName);
     }
 
 
     @Override
     public Page<AdminMedicineRowResponse> list(String q, String status, String manufacturer, String country, String brandName, int page, int size, String sort)
     {
+        // text search runs on the in-memory token index (ranked, any word order) instead of '%q%' scans;
+        // a query no token matches falls back to the old substring rule (see searchHits)
+        if (q != null && !q.trim().isEmpty()) {
+            return searchList(q.trim(), status, manufacturer, country, brandName, page, size, sort);
+        }
 
         Pageable pageable = PageRequest.of(page, size, parseSort(sort));
 
-        Specification<MedicineMaster> spec = (root, query, cb) -> {
-            Predicate p = cb.conjunction();
+        Specification<MedicineMaster> spec = filterSpec(status, manufacturer, country, brandName);
 
-            if (q != null && !q.trim().isEmpty()) {
-                String like = "%" + q.trim().toLowerCase(Locale.ROOT) + "%";
-                Predicate p1 = cb.like(cb.lower(root.get("genericName")), like);
-                Predicate p2 = cb.like(cb.lower(root.get("brandName")), like);
-                Predicate p3 = cb.like(cb.lower(root.get("regNo")), like);
-                p = cb.and(p, cb.or(p1, p2, p3));
-            }
+        Page<MedicineMaster> data = repo.findAll(spec, pageable);
+
+        return data.map(m -> new AdminMedicineRowResponse(
+                m.getId(),
+                m.getGenericName(),
+                m.getBrandName(),
+                m.getManufacturer(),
+                m.getCountry(),
+                m.getRegNo(),
+                m.getStatus()
+        ));
+    }
+
+    private static Specification<MedicineMaster> filterSpec(String status, String manufacturer, String country,
+                                                            String brandName) {
+        return (root, query, cb) -> {
+            Predicate p = cb.conjunction();
 
             if (status != null && !status.equalsIgnoreCase("ALL")) {
                 CatalogStatus st = CatalogStatus.valueOf(status.toUpperCase(Locale.ROOT));
@@ -95,18 +147,196 @@ public class AdminMedicineServiceImpl implements AdminMedicineService {
 
             return p;
         };
+    }
 
-        Page<MedicineMaster> data = repo.findAll(spec, pageable);
+    // ===== Keyset (seek) paging =====
 
-        return data.map(m -> new AdminMedicineRowResponse(
+    // Cursor = (sort, sort-key value of the last row, its id). Rows after it are found with
+    // "key > k or (key = k and id > lastId)" on the (key, id) index, so page 500 costs the same as page 1.
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPageResponse<AdminMedicineRowResponse> seek(String q, String status, String manufacturer, String country,
+                                                            String brandName, String sort, String cursor, int size,
+                                                            boolean withTotal) {
+        int pageSize = Math.max(1, Math.min(size, MAX_SEEK_SIZE));
+        Sort.Order order = parseSort(sort).iterator().next();
+        String field = order.getProperty();
+        Function<MedicineMasterDto, String> keyOf = sortKey(field);
+        if (keyOf == null && !field.equals("id")) {
+            throw new IllegalArgumentException("Unsupported sort for seek paging: " + field);
+        }
+        boolean asc = order.isAscending();
+        String sortSpec = field + "," + (asc ? "asc" : "desc");
+
+        SeekCursor after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] keys = CursorCodec.decode(cursor, 4);
+            if (!keys[0].equals(sortSpec)) throw new RuntimeException("Cursor does not match the requested sort");
+            Integer lastId = CursorCodec.decodeInt(keys[3]);
+            if (lastId == null) throw new RuntimeException("Invalid cursor");
+            after = new SeekCursor(keys[1].equals("1") ? null : keys[2], lastId);
+        }
+
+        List<MedicineMasterDto> rows;
+        Long total = null;
+        if (q != null && !q.trim().isEmpty()) {
+            // text search hits come from the in-memory index; same ordering and cursor, applied in memory
+            List<MedicineMasterDto> hits = searchHits(q.trim(), status, manufacturer, country, brandName);
+            Comparator<MedicineMasterDto> cmp = comparator(Sort.by(order.getDirection(), field)
+                    .and(Sort.by(order.getDirection(), "id")));
+            SeekCursor from = after;
+            rows = hits.stream()
+                    .filter(m -> from == null || compareToCursor(m, keyOf, from, asc) > 0)
+                    .sorted(cmp)
+                    .limit(pageSize + 1L)
+                    .toList();
+            if (withTotal) total = (long) hits.size();
+        } else {
+            Specification<MedicineMaster> filters = filterSpec(status, manufacturer, country, brandName);
+            Specification<MedicineMaster> spec = after == null ? filters : filters.and(afterCursor(field, asc, after));
+            Sort seekSort = field.equals("id")
+                    ? Sort.by(order.getDirection(), "id")
+                    : Sort.by(order.getDirection(), field).and(Sort.by(order.getDirection(), "id"));
+            rows = repo.findBy(spec, query -> query.sortBy(seekSort).limit(pageSize + 1).all()).stream()
+                    .map(MedicineMasterDto::from)
+                    .toList();
+            if (withTotal) total = repo.count(filters);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) rows = rows.subList(0, pageSize);
+
+        String nextCursor = null;
+        if (hasMore) {
+            MedicineMasterDto last = rows.get(rows.size() - 1);
+            String key = keyOf == null ? null : keyOf.apply(last);
+            nextCursor = CursorCodec.encode(sortSpec, key == null ? "1" : "0", key, last.getId());
+        }
+
+        List<AdminMedicineRowResponse> items = rows.stream().map(AdminMedicineServiceImpl::toRow).toList();
+        return new KeysetPageResponse<>(items, nextCursor, hasMore, total);
+    }
+
+    private record SeekCursor(String key, int id) {
+    }
+
+    // MySQL orders NULL first ascending and last descending; the predicate follows the same order
+    private static Specification<MedicineMaster> afterCursor(String field, boolean asc, SeekCursor after) {
+        return (root, query, cb) -> {
+            var id = root.<Integer>get("id");
+            if (field.equals("id")) {
+                return asc ? cb.greaterThan(id, after.id()) : cb.lessThan(id, after.id());
+            }
+            var key = root.<String>get(field);
+            Predicate sameKeyNextId;
+            if (after.key() == null) {
+                sameKeyNextId = cb.and(cb.isNull(key), asc ? cb.greaterThan(id, after.id()) : cb.lessThan(id, after.id()));
+                return asc ? cb.or(sameKeyNextId, cb.isNotNull(key)) : sameKeyNextId;
+            }
+            sameKeyNextId = cb.and(cb.equal(key, after.key()), asc ? cb.greaterThan(id, after.id()) : cb.lessThan(id, after.id()));
+            return asc
+                    ? cb.or(cb.greaterThan(key, after.key()), sameKeyNextId)
+                    : cb.or(cb.lessThan(key, after.key()), sameKeyNextId, cb.isNull(key));
+        };
+    }
+
+    private static int compareToCursor(MedicineMasterDto m, Function<MedicineMasterDto, String> keyOf,
+                                       SeekCursor after, boolean asc) {
+        int c = keyOf == null ? 0
+                : Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER).compare(keyOf.apply(m), after.key());
+        if (c == 0) c = Integer.compare(m.getId(), after.id());
+        return asc ? c : -c;
+    }
+
+    private static AdminMedicineRowResponse toRow(MedicineMasterDto m) {
+        return new AdminMedicineRowResponse(
                 m.getId(),
                 m.getGenericName(),
                 m.getBrandName(),
                 m.getManufacturer(),
                 m.getCountry(),
                 m.getRegNo(),
-                m.getStatus()
-        ));
+                m.getStatus() != null ? CatalogStatus.valueOf(m.getStatus()) : null
+        );
+    }
+
+    // Relevance order unless an explicit sort is requested; other filters are applied to the hits in memory
+    private Page<AdminMedicineRowResponse> searchList(String q, String status, String manufacturer, String country,
+                                                      String brandName, int page, int size, String sort) {
+        List<MedicineMasterDto> hits = searchHits(q, status, manufacturer, country, brandName);
+
+        Sort order = Sort.unsorted();
+        if (sort != null && !sort.isBlank()) {
+            order = parseSort(sort);
+            hits = hits.stream().sorted(comparator(order)).toList();
+        }
+
+        Pageable pageable = PageRequest.of(page, size, order);
+        int from = (int) Math.min(pageable.getOffset(), hits.size());
+        int to = Math.min(from + size, hits.size());
+        List<AdminMedicineRowResponse> content = hits.subList(from, to).stream()
+                .map(AdminMedicineServiceImpl::toRow)
+                .toList();
+        return new PageImpl<>(content, pageable, hits.size());
+    }
+
+    private List<MedicineMasterDto> searchHits(String q, String status, String manufacturer, String country,
+                                               String brandName) {
+        CatalogStatus st = (status != null && !status.equalsIgnoreCase("ALL"))
+                ? CatalogStatus.valueOf(status.toUpperCase(Locale.ROOT))
+                : null;
+
+        // token hits by relevance; if there are none, rows containing q in generic name, brand or regNo
+        // (the former lower(col) like '%q%'), so mid-word fragments such as "cetamol" still match
+        List<MedicineMasterDto> rows = searchIndexService.search(q, Integer.MAX_VALUE);
+        if (rows.isEmpty()) rows = searchIndexService.containing(q);
+
+        return rows.stream()
+                .filter(m -> st == null || st.name().equals(m.getStatus()))
+                .filter(m -> matches(manufacturer, m.getManufacturer()))
+                .filter(m -> matches(country, m.getCountry()))
+                .filter(m -> matches(brandName, m.getBrandName()))
+                .toList();
+    }
+
+    private static boolean matches(String filter, String value) {
+        return filter == null || filter.trim().isEmpty()
+                || (value != null && value.equalsIgnoreCase(filter.trim()));
+    }
+
+    private static Comparator<MedicineMasterDto> comparator(Sort sort) {
+        Comparator<MedicineMasterDto> result = null;
+        for (Sort.Order o : sort) {
+            Function<MedicineMasterDto, String> key = switch (o.getProperty()) {
+                case "status" -> MedicineMasterDto::getStatus;
+                case "dosage" -> MedicineMasterDto::getDosage;
+                case "id" -> null;
+                default -> {
+                    Function<MedicineMasterDto, String> k = sortKey(o.getProperty());
+                    if (k == null) throw new IllegalArgumentException("Unknown sort field: " + o.getProperty());
+                    yield k;
+                }
+            };
+            Comparator<MedicineMasterDto> c = key == null
+                    ? Comparator.comparing(MedicineMasterDto::getId)
+                    : Comparator.comparing(key, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER));
+            if (o.isDescending()) c = c.reversed();
+            result = result == null ? c : result.thenComparing(c);
+        }
+        return result == null ? Comparator.comparing(MedicineMasterDto::getId) : result;
+    }
+
+    // text columns usable as a seek key: each has an index on (column) or (column, id) in MedicineMaster,
+    // InnoDB appends the id to single-column ones, so every (key, id) cursor is one index range scan
+    private static Function<MedicineMasterDto, String> sortKey(String property) {
+        return switch (property) {
+            case "genericName" -> MedicineMasterDto::getGenericName;
+            case "brandName" -> MedicineMasterDto::getBrandName;
+            case "manufacturer" -> MedicineMasterDto::getManufacturer;
+            case "country" -> MedicineMasterDto::getCountry;
+            case "regNo" -> MedicineMasterDto::getRegNo;
+            default -> null;
+        };
     }
 
     @Override
@@ -125,6 +355,7 @@ public class AdminMedicineServiceImpl implements AdminMedicineService {
         m.setStatus(req.getStatus());
 
         MedicineMaster saved = repo.save(m);
+        eventPublisher.publishEvent(CatalogChangedEvent.upserted(MedicineMasterDto.from(saved)));
 
         return new AdminMedicineRowResponse(
                 saved.getId(),
@@ -158,6 +389,7 @@ public class AdminMedicineServiceImpl implements AdminMedicineService {
         m.setStatus(req.getStatus());
 
         MedicineMaster saved = repo.save(m);
+        eventPublisher.publishEvent(CatalogChangedEvent.upserted(MedicineMasterDto.from(saved)));
 
         return new AdminMedicineRowResponse(
                 saved.getId(),
@@ -176,6 +408,7 @@ public class AdminMedicineServiceImpl implements AdminMedicineService {
             throw new IllegalArgumentException("Medicine not found: " + id);
         }
         repo.deleteById(id);
+        eventPublisher.publishEvent(CatalogChangedEvent.deleted(id));
     }
 
     private Sort parseSort(String sort) {
@@ -200,15 +433,18 @@ public class AdminMedicineServiceImpl implements AdminMedicineService {
         return mapRow(m);
     }
 
+    // served from memory: no transaction, so no connection is borrowed per keystroke
     @Override
-    public List<AdminMedicineSuggestItem> suggest(String q) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<AdminMedicineSuggestItem> suggest(String q, boolean fuzzy) {
         if (q == null) return Collections.emptyList();
         q = q.trim();
         if (q.length() < 2) return Collections.emptyList();
 
-        return repo
-                .findTop10ByGenericNameStartingWithIgnoreCaseOrBrandNameStartingWithIgnoreCase(q, q)
-                .stream()
+        List<MedicineMasterDto> hits = fuzzy ? List.of() : searchIndexService.suggest(q, 10, popularityService::score);
+        if (hits.isEmpty()) hits = searchIndexService.fuzzy(q, 10);
+
+        return hits.stream()
                 // dropdown shows only names, but we keep id hidden
                 .map(m -> new AdminMedicineSuggestItem(m.getId(), m.getGenericName()))
                 .distinct()
@@ -0,0 +1,236 @@
+package com.example.backend.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.backend.dto.projection.PublicAvailabilityRow;
+import com.example.backend.dto.response.AvailabilityChangesResponse;
+import com.example.backend.dto.response.AvailabilityChangesResponse.InventoryDelta;
+import com.example.backend.dto.response.AvailabilityChangesResponse.InventoryKey;
+import com.example.backend.dto.response.PublicPharmacyWithInventoryResponse;
+import com.example.backend.entity.AvailabilityChange;
+import com.example.backend.event.InventoryChangedEvent;
+import com.example.backend.event.PharmacyLocationChangedEvent;
+import com.example.backend.event.PharmacyProfileChangedEvent;
+import com.example.backend.repository.AvailabilityChangeRepository;
+import com.example.backend.repository.PharmacyInventoryRepository;
+import com.example.backend.repository.PharmacyRepository;
+import com.example.backend.service.AvailabilityChangeFeedService;
+import com.example.backend.service.OpeningHoursService;
+
+/**
+ * Change log + delta feed.
+ *
+ * Log rows are written in the writer's transaction (so a change is logged if and only if it commits) and get
+ * their feed sequence after the commit: stamp() takes max(seq) + 1 and writes it in a short transaction of
+ * its own, one batch at a time under a lock. Stamps therefore become visible in sequence order, and a poller
+ * that has seen seq N can never miss a lower one that commits later. Rows whose stamp did not happen
+ * (crash, failed stamp) are picked up by the periodic sweep.
+ */
+@Service
+public class AvailabilityChangeFeedServiceImpl implements AvailabilityChangeFeedService {
+
+    private static final Logger log = LoggerFactory.getLogger(AvailabilityChangeFeedServiceImpl.class);
+
+    private static final int MAX_LIMIT = 5000;
+
+    // transaction resource key: ids logged by the current transaction, stamped once it commits
+    private static final Object PENDING_IDS = new Object();
+
+    private final AvailabilityChangeRepository changeRepository;
+    private final PharmacyInventoryRepository inventoryRepository;
+    private final PharmacyRepository pharmacyRepository;
+    private final OpeningHoursService openingHoursService;
+    private final TransactionTemplate stampTransaction;
+
+    @Value("${app.availability.changes.retention-days:7}")
+    private long retentionDays;
+
+    public AvailabilityChangeFeedServiceImpl(
+            AvailabilityChangeRepository changeRepository,
+            PharmacyInventoryRepository inventoryRepository,
+            PharmacyRepository pharmacyRepository,
+            OpeningHoursService openingHoursService,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.changeRepository = changeRepository;
+        this.inventoryRepository = inventoryRepository;
+        this.pharmacyRepository = pharmacyRepository;
+        this.openingHoursService = openingHoursService;
+        this.stampTransaction = new TransactionTemplate(transactionManager);
+        this.stampTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // ===== Change log (synchronous: joins the writer's transaction when there is one) =====
+
+    @EventListener
+    public void onInventoryChanged(InventoryChangedEvent e) {
+        record(AvailabilityChange.Kind.INVENTORY, e.getPharmacyId(), e.getMedicineId(), e.isDeleted());
+    }
+
+    @EventListener
+    public void onLocationChanged(PharmacyLocationChangedEvent e) {
+        record(AvailabilityChange.Kind.PHARMACY, e.getPharmacyId(), null, false);
+    }
+
+    @EventListener
+    public void onProfileChanged(PharmacyProfileChangedEvent e) {
+        record(AvailabilityChange.Kind.PHARMACY, e.getPharmacyId(), null, false);
+    }
+
+    private void record(AvailabilityChange.Kind kind, Integer pharmacyId, Integer medicineId, boolean deleted) {
+        Long id = changeRepository.save(
+                new AvailabilityChange(null, null, kind, pharmacyId, medicineId, deleted, LocalDateTime.now())).getId();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            stamp(List.of(id)); // no surrounding transaction: the row is already committed
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<Long> pending = (List<Long>) TransactionSynchronizationManager.getResource(PENDING_IDS);
+        if (pending == null) {
+            List<Long> ids = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(PENDING_IDS, ids);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(PENDING_IDS);
+                    if (status == STATUS_COMMITTED) stamp(ids);
+                }
+            });
+            pending = ids;
+        }
+        pending.add(id);
+    }
+
+    // Gives committed log rows the next sequence numbers, in a transaction of their own.
+    // Serialized, so every stamp commits before the next one reads max(seq).
+    private synchronized void stamp(List<Long> ids) {
+        try {
+            stampTransaction.executeWithoutResult(tx -> {
+                Long head = changeRepository.findMaxSeq();
+                long next = (head != null ? head : 0L) + 1;
+                for (Long id : ids) {
+                    if (changeRepository.assignSeq(id, next) == 1) next++;
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Could not sequence availability changes {}; the sweep will retry", ids, e);
+        }
+    }
+
+    // Rows committed but never stamped (stamp failed, or the node stopped in between)
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.availability.changes.sequence-sweep-ms:60000}", initialDelay = 60000)
+    public void sequencePending() {
+        List<Long> ids = changeRepository.findUnsequencedIds();
+        if (!ids.isEmpty()) stamp(ids);
+    }
+
+    // Daily retention cleanup; clients older than the retained window get resetRequired=true
+    @Scheduled(cron = "${app.availability.changes.prune-cron:0 30 3 * * *}")
+    @Transactional
+    public void prune() {
+        Long head = changeRepository.findMaxSeq();
+        if (head == null) return;
+        // the head row is always kept so min(seq) still tells stale clients they missed pruned changes
+        changeRepository.deleteOlderThan(LocalDateTime.now().minusDays(retentionDays), head);
+    }
+
+    // ===== Feed =====
+
+    @Override
+    @Transactional(readOnly = true)
+    public long headVersion() {
+        Long max = changeRepository.findMaxSeq();
+        return max != null ? max : 0L;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AvailabilityChangesResponse changesSince(long since, int limit) {
+        int max = Math.max(1, Math.min(limit, MAX_LIMIT));
+        long from = Math.max(0L, since);
+
+        // changes between 'since' and the oldest retained one were pruned (since=0 included: a client starting
+        // from scratch after pruning would otherwise take the retained tail for the full history)
+        Long minSeq = changeRepository.findMinSeq();
+        if (minSeq != null && from < minSeq - 1) {
+            return new AvailabilityChangesResponse(headVersion(), false, true, List.of(), List.of(), List.of());
+        }
+
+        List<AvailabilityChange> changes = changeRepository.findBySeqGreaterThanOrderBySeqAsc(from, Limit.of(max + 1));
+        boolean hasMore = changes.size() > max;
+        if (hasMore) changes = changes.subList(0, max);
+        if (changes.isEmpty()) {
+            return new AvailabilityChangesResponse(from, false, false, List.of(), List.of(), List.of());
+        }
+
+        // collapse: only the final state of each row matters
+        Set<InventoryKey> inventoryKeys = new LinkedHashSet<>();
+        Set<Integer> pharmacyIds = new LinkedHashSet<>();
+        for (AvailabilityChange c : changes) {
+            if (c.getKind() == AvailabilityChange.Kind.INVENTORY) {
+                inventoryKeys.add(new InventoryKey(c.getPharmacyId(), c.getMedicineId()));
+            } else {
+                pharmacyIds.add(c.getPharmacyId());
+            }
+        }
+
+        List<InventoryDelta> upserts = new ArrayList<>();
+        List<InventoryKey> deletes = new ArrayList<>();
+        if (!inventoryKeys.isEmpty()) {
+            Set<Integer> keyPharmacies = new LinkedHashSet<>();
+            Set<Integer> keyMedicines = new LinkedHashSet<>();
+            for (InventoryKey k : inventoryKeys) {
+                keyPharmacies.add(k.getPharmacyId());
+                keyMedicines.add(k.getMedicineId());
+            }
+            Map<InventoryKey, PublicAvailabilityRow> current = new HashMap<>();
+            for (PublicAvailabilityRow r : inventoryRepository.findPublicAvailabilityRowsFor(keyPharmacies, keyMedicines)) {
+                current.put(new InventoryKey(r.getPharmacyId(), r.getMedicineId()), r);
+            }
+            // current state wins: a row that exists now is an upsert, a row that is gone is a tombstone
+            for (InventoryKey k : inventoryKeys) {
+                PublicAvailabilityRow r = current.get(k);
+                if (r != null) {
+                    upserts.add(new InventoryDelta(k.getPharmacyId(), PublicPharmacyWithInventoryResponse.InventoryItem.from(r)));
+                } else {
+                    deletes.add(k);
+                }
+            }
+        }
+
+        List<PublicPharmacyWithInventoryResponse> pharmacies = pharmacyIds.isEmpty()
+                ? List.of()
+                : pharmacyRepository.findProfileRows(pharmacyIds).stream()
+                    .map(row -> {
+                        PublicPharmacyWithInventoryResponse p = PublicPharmacyWithInventoryResponse.profile(row);
+                        p.setIsOpen(openingHoursService.isOpenNow(p.getId()));
+                        return p;
+                    })
+                    .toList();
+
+        long version = changes.get(changes.size() - 1).getSeq();
+        return new AvailabilityChangesResponse(version, hasMore, false, upserts, deletes, pharmacies);
+    }
+}
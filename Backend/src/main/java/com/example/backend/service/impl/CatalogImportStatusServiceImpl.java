@@ -0,0 +1,67 @@
+package com.example.backend.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Service;
+
+import com.example.backend.dto.response.CatalogImportStatusResponse;
+import com.example.backend.service.CatalogImportStatusService;
+
+@Service
+public class CatalogImportStatusServiceImpl implements CatalogImportStatusService {
+
+    private final AtomicLong rowsImported = new AtomicLong();
+
+    private volatile State state = State.STARTING;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+    private volatile boolean catalogLoaded;
+
+    @Override
+    public void markImporting() {
+        rowsImported.set(0);
+        startedAt = LocalDateTime.now();
+        state = State.IMPORTING;
+    }
+
+    @Override
+    public void addProgress(long rows) {
+        rowsImported.addAndGet(rows);
+    }
+
+    @Override
+    public void markReady() {
+        finishedAt = LocalDateTime.now();
+        state = State.READY;
+    }
+
+    @Override
+    public void markFailed(String error) {
+        this.error = error;
+        finishedAt = LocalDateTime.now();
+        state = State.FAILED;
+    }
+
+    @Override
+    public void markCatalogLoaded() {
+        catalogLoaded = true;
+    }
+
+    @Override
+    public boolean isReady() {
+        return state == State.READY && catalogLoaded;
+    }
+
+    @Override
+    public CatalogImportStatusResponse status() {
+        return new CatalogImportStatusResponse(visibleState().name(), rowsImported.get(), startedAt, finishedAt, error);
+    }
+
+    // the table may be complete before the views have loaded; until then the catalog is still starting
+    private State visibleState() {
+        State s = state;
+        return s == State.READY && !catalogLoaded ? State.STARTING : s;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.backend.service.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.backend.event.CatalogChangedEvent;
+import com.example.backend.event.InventoryChangedEvent;
+import com.example.backend.event.OpeningStatusChangedEvent;
+import com.example.backend.event.PharmacyLocationChangedEvent;
+import com.example.backend.event.PharmacyProfileChangedEvent;
+import com.example.backend.service.DataVersionService;
+
+/**
+ * Counters are bumped after commit, and after the in-memory read models have applied the same event
+ * (lowest precedence), so a client can never cache old data under a new ETag.
+ * The boot epoch is part of every ETag, so a restart (counters start from zero again) never produces a stale 304.
+ */
+@Service
+public class DataVersionServiceImpl implements DataVersionService {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong availability = new AtomicLong();
+    private final AtomicLong catalog = new AtomicLong();
+
+    @Override
+    public long availabilityVersion() {
+        return availability.get();
+    }
+
+    @Override
+    public long catalogVersion() {
+        return catalog.get();
+    }
+
+    @Override
+    public String availabilityEtag() {
+        return "\"a-" + epoch + "-" + availability.get() + "\"";
+    }
+
+    @Override
+    public String catalogEtag() {
+        return "\"c-" + epoch + "-" + catalog.get() + "\"";
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInventoryChanged(InventoryChangedEvent e) {
+        availability.incrementAndGet();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLocationChanged(PharmacyLocationChangedEvent e) {
+        availability.incrementAndGet();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfileChanged(PharmacyProfileChangedEvent e) {
+        availability.incrementAndGet();
+    }
+
+    // isOpen is part of the public listing
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOpeningStatusChanged(OpeningStatusChangedEvent e) {
+        availability.incrementAndGet();
+    }
+
+    // medicine names are part of the public listing too
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent e) {
+        catalog.incrementAndGet();
+        availability.incrementAndGet();
+    }
+}
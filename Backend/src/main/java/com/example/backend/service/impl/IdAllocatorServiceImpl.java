@@ -0,0 +1,78 @@
+package com.example.backend.service.impl;
+
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.backend.entity.IdAllocation;
+import com.example.backend.service.IdAllocatorService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Keeps the id_allocator rows consistent with the data and hands out id blocks to JDBC writers.
+ *
+ * Rows created while the tables were AUTO_INCREMENT (or by an older node) may already use ids above
+ * the allocator value, so at startup every row is raised to max(id) + BLOCK_SIZE. This runs while the
+ * context is being built, before the web server accepts requests and before any CommandLineRunner.
+ *
+ * reserve() follows the pooled optimizer's convention (value V covers ids V - BLOCK_SIZE + 1 .. V),
+ * so blocks taken here never overlap the blocks Hibernate takes.
+ */
+@Service
+public class IdAllocatorServiceImpl implements IdAllocatorService {
+
+    // entity tables whose ids come from id_allocator (AvailabilityChange stays IDENTITY: its feed order is seq, not id)
+    private static final List<String> TABLES = List.of(
+            "medicine_master",
+            "pharmacy",
+            "pharmacy_location",
+            "pharmacy_inventory",
+            "inventory_activity",
+            "password_setup_token",
+            "app_user"
+    );
+
+    private static final String ALIGN_SQL = """
+            insert into id_allocator (entity, next_val) values (?, ?)
+            on duplicate key update next_val = greatest(next_val, values(next_val))
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate newTransaction;
+
+    // EntityManagerFactory is only a dependency so that schema update (which creates id_allocator) has run
+    public IdAllocatorServiceImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                  EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PostConstruct
+    public void alignWithExistingIds() {
+        for (String table : TABLES) {
+            Long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from " + table, Long.class);
+            jdbcTemplate.update(ALIGN_SQL, table, (maxId != null ? maxId : 0) + IdAllocation.BLOCK_SIZE);
+        }
+    }
+
+    // Separate transaction (like Hibernate's table generator): the row lock is held only for the reservation
+    @Override
+    public long reserve(String table, int count) {
+        if (count <= 0) throw new IllegalArgumentException("count must be positive");
+        Long first = newTransaction.execute(tx -> {
+            Long value = jdbcTemplate.queryForObject(
+                    "select next_val from id_allocator where entity = ? for update", Long.class, table);
+            if (value == null) throw new IllegalStateException("No id_allocator row for " + table);
+            jdbcTemplate.update("update id_allocator set next_val = ? where entity = ?", value + count, table);
+            return value - IdAllocation.BLOCK_SIZE + 1;
+        });
+        return first;
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.backend.service.impl;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.backend.dto.projection.InventoryStockRow;
+import com.example.backend.dto.projection.PharmacyGeoPoint;
+import com.example.backend.dto.response.MedicineAvailabilityResponse;
+import com.example.backend.event.InventoryChangedEvent;
+import com.example.backend.repository.PharmacyInventoryRepository;
+import com.example.backend.service.MedicineAvailabilityIndexService;
+import com.example.backend.service.PharmacyGeoIndexService;
+import com.example.backend.util.GeoUtils;
+
+/**
+ * Inverted index medicineId -> (pharmacyId -> stock/price/updatedAt), holding only rows with stock > 0.
+ * Built once at startup, then maintained from InventoryChangedEvent, so "who has it" never scans pharmacy_inventory.
+ */
+@Service
+public class MedicineAvailabilityIndexServiceImpl implements MedicineAvailabilityIndexService {
+
+    private static final int MAX_LIMIT = 200;
+
+    private final PharmacyInventoryRepository inventoryRepository;
+    private final PharmacyGeoIndexService geoIndexService;
+
+    private final Map<Integer, Map<Integer, StockEntry>> byMedicine = new ConcurrentHashMap<>();
+    private final Map<Integer, Integer> inStockByPharmacy = new ConcurrentHashMap<>();
+
+    public MedicineAvailabilityIndexServiceImpl(
+            PharmacyInventoryRepository inventoryRepository,
+            PharmacyGeoIndexService geoIndexService
+    ) {
+        this.inventoryRepository = inventoryRepository;
+        this.geoIndexService = geoIndexService;
+    }
+
+    private record StockEntry(Integer pharmacyId, String pharmacyName, Integer stock, BigDecimal price,
+                              LocalDateTime updatedAt) {
+    }
+
+    // Loaded before the indexes that read inStockCount() during their own startup build
+    @Order(0)
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        reload();
+    }
+
+    @Override
+    public synchronized void reload() {
+        byMedicine.clear();
+        inStockByPharmacy.clear();
+        for (InventoryStockRow r : inventoryRepository.findAllInStockRows()) {
+            put(r.getMedicineId(), new StockEntry(r.getPharmacyId(), r.getPharmacyName(), r.getStock(), r.getPrice(), r.getUpdatedAt()));
+        }
+    }
+
+    // Runs before other inventory listeners that read inStockCount()
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onInventoryChanged(InventoryChangedEvent e) {
+        remove(e.getMedicineId(), e.getPharmacyId());
+        if (e.isInStock()) {
+            put(e.getMedicineId(), new StockEntry(e.getPharmacyId(), e.getPharmacyName(), e.getStock(), e.getPrice(), e.getUpdatedAt()));
+        }
+    }
+
+    @Override
+    public int inStockCount(Integer pharmacyId) {
+        return inStockByPharmacy.getOrDefault(pharmacyId, 0);
+    }
+
+    @Override
+    public List<MedicineAvailabilityResponse> findInStock(Integer medicineId, Double lat, Double lng, Double radiusKm,
+                                                          String sort, int limit, Predicate<Integer> filter) {
+        Map<Integer, StockEntry> entries = byMedicine.get(medicineId);
+        if (entries == null || entries.isEmpty()) return List.of();
+
+        boolean hasOrigin = GeoUtils.isValid(lat, lng);
+        List<MedicineAvailabilityResponse> result = new ArrayList<>(entries.size());
+        for (StockEntry e : entries.values()) {
+            if (filter != null && !filter.test(e.pharmacyId())) continue;
+            PharmacyGeoPoint point = geoIndexService.locate(e.pharmacyId());
+            Double distance = null;
+            if (hasOrigin && point != null) {
+                distance = Math.round(GeoUtils.haversineKm(lat, lng, point.getLatitude(), point.getLongitude()) * 1000) / 1000.0;
+            }
+            if (radiusKm != null && hasOrigin && (distance == null || distance > radiusKm)) continue;
+
+            result.add(new MedicineAvailabilityResponse(
+                    e.pharmacyId(),
+                    e.pharmacyName(),
+                    point != null ? point.getLatitude() : null,
+                    point != null ? point.getLongitude() : null,
+                    distance,
+                    e.stock(),
+                    e.price(),
+                    e.updatedAt()
+            ));
+        }
+
+        Comparator<MedicineAvailabilityResponse> byPrice = Comparator.comparing(
+                MedicineAvailabilityResponse::getPrice, Comparator.nullsLast(Comparator.naturalOrder()));
+        Comparator<MedicineAvailabilityResponse> byDistance = Comparator.comparing(
+                MedicineAvailabilityResponse::getDistanceKm, Comparator.nullsLast(Comparator.naturalOrder()));
+
+        boolean sortByDistance = hasOrigin && !"price".equalsIgnoreCase(sort);
+        result.sort(sortByDistance ? byDistance.thenComparing(byPrice) : byPrice.thenComparing(byDistance));
+
+        int max = Math.max(1, Math.min(limit, MAX_LIMIT));
+        return result.size() > max ? new ArrayList<>(result.subList(0, max)) : result;
+    }
+
+    // ===== Helpers =====
+
+    private void put(Integer medicineId, StockEntry entry) {
+        StockEntry old = byMedicine.computeIfAbsent(medicineId, x -> new ConcurrentHashMap<>())
+                .put(entry.pharmacyId(), entry);
+        if (old == null) inStockByPharmacy.merge(entry.pharmacyId(), 1, Integer::sum);
+    }
+
+    private void remove(Integer medicineId, Integer pharmacyId) {
+        Map<Integer, StockEntry> entries = byMedicine.get(medicineId);
+        if (entries == null || entries.remove(pharmacyId) == null) return;
+        if (entries.isEmpty()) byMedicine.remove(medicineId);
+        inStockByPharmacy.computeIfPresent(pharmacyId, (k, n) -> n > 1 ? n - 1 : null);
+    }
+}
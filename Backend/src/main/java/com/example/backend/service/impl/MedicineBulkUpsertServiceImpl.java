@@ -0,0 +1,306 @@
+package com.example.backend.service.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.backend.dto.request.MedicineBulkRow;
+import com.example.backend.dto.response.BulkUpsertResult;
+import com.example.backend.dto.response.BulkUpsertResult.RejectedRow;
+import com.example.backend.dto.response.MedicineMasterDto;
+import com.example.backend.entity.CatalogStatus;
+import com.example.backend.event.CatalogChangedEvent;
+import com.example.backend.repository.MedicineMasterRepository;
+import com.example.backend.service.IdAllocatorService;
+import com.example.backend.service.MedicineBulkUpsertService;
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvException;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Bulk catalog upsert keyed by regNo.
+ *
+ * The upload is parsed row by row (never held in memory) and applied in batches of BATCH_SIZE,
+ * one transaction each: a single "where regNo in (...)" query per batch finds the existing rows,
+ * then new and changed rows are written with one JDBC batch insert and one batch update.
+ * Rows identical to the stored state are counted as unchanged and not written.
+ * In-memory catalog views reload once at the end instead of once per row, also when a later batch
+ * fails after earlier ones committed.
+ */
+@Service
+public class MedicineBulkUpsertServiceImpl implements MedicineBulkUpsertService {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final int REG_NO_MAX_LENGTH = 50;
+    // the other medicine_master text columns have the default VARCHAR(255)
+    private static final int TEXT_MAX_LENGTH = 255;
+
+    private static final String INSERT_SQL = """
+            insert into medicine_master (id, generic_name, brand_name, manufacturer, country, reg_no, dosage, status)
+            values (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String UPDATE_SQL = """
+            update medicine_master
+            set generic_name = ?, brand_name = ?, manufacturer = ?, country = ?, reg_no = ?, dosage = ?, status = ?,
+                archived_by_sync = null
+            where id = ?
+            """;
+
+    private final MedicineMasterRepository medicineRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final IdAllocatorService idAllocatorService;
+
+    public MedicineBulkUpsertServiceImpl(
+            MedicineMasterRepository medicineRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher,
+            ObjectMapper objectMapper,
+            IdAllocatorService idAllocatorService
+    ) {
+        this.medicineRepository = medicineRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.idAllocatorService = idAllocatorService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+    }
+
+    @FunctionalInterface
+    private interface RowSource {
+        // null at end of input
+        MedicineBulkRow next() throws IOException, CsvException;
+    }
+
+    private record Pending(MedicineBulkRow data, CatalogStatus status) {
+    }
+
+    private static final class Counts {
+        int inserted, updated, unchanged, rejected;
+        final List<RejectedRow> errors = new ArrayList<>();
+
+        void reject(long row, String regNo, String reason) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) errors.add(new RejectedRow(row, regNo, reason));
+        }
+    }
+
+    @Override
+    public BulkUpsertResult upsertCsv(InputStream in) {
+        try (CSVReader csv = new CSVReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)))) {
+            String[] header = csv.readNext();
+            if (header == null) throw new RuntimeException("CSV header is missing");
+            Map<String, Integer> columns = columns(header);
+            if (!columns.containsKey("regno")) throw new RuntimeException("CSV header has no regNo column");
+
+            return run(() -> {
+                String[] c = csv.readNext();
+                if (c == null) return null;
+                return new MedicineBulkRow(
+                        cell(c, columns.get("genericname")),
+                        cell(c, columns.get("brandname")),
+                        cell(c, columns.get("manufacturer")),
+                        cell(c, columns.get("country")),
+                        cell(c, columns.get("regno")),
+                        cell(c, columns.get("dosage")),
+                        cell(c, columns.get("status"))
+                );
+            });
+        } catch (IOException | CsvException e) {
+            throw new RuntimeException("Could not read CSV upload: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public BulkUpsertResult upsertJsonLines(InputStream in) {
+        try (MappingIterator<MedicineBulkRow> lines = objectMapper.readerFor(MedicineBulkRow.class).readValues(in)) {
+            return run(() -> lines.hasNextValue() ? lines.nextValue() : null);
+        } catch (JacksonException e) {
+            throw new RuntimeException("Invalid JSON line in upload: " + e.getOriginalMessage());
+        } catch (IOException | CsvException e) {
+            throw new RuntimeException("Could not read JSON upload: " + e.getMessage());
+        }
+    }
+
+    // ===== Helpers =====
+
+    private BulkUpsertResult run(RowSource source) throws IOException, CsvException {
+        long start = System.nanoTime();
+        Counts counts = new Counts();
+        Set<String> seenRegNos = new HashSet<>();
+        List<Pending> batch = new ArrayList<>(BATCH_SIZE);
+
+        try {
+            long rowNo = 0;
+            MedicineBulkRow r;
+            while ((r = source.next()) != null) {
+                rowNo++;
+                normalize(r);
+                String reason = validate(r);
+                if (reason == null && !seenRegNos.add(r.getRegNo().toUpperCase(Locale.ROOT))) {
+                    reason = "Duplicate regNo in upload";
+                }
+                if (reason != null) {
+                    counts.reject(rowNo, r.getRegNo(), reason);
+                    continue;
+                }
+                CatalogStatus status = r.getStatus() == null ? null : CatalogStatus.valueOf(r.getStatus().toUpperCase(Locale.ROOT));
+                batch.add(new Pending(r, status));
+                if (batch.size() == BATCH_SIZE) {
+                    apply(batch, counts);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) apply(batch, counts);
+        } finally {
+            // batches commit one by one: whatever made it in must reach the views even if a later one failed
+            if (counts.inserted + counts.updated > 0) {
+                // in its own transaction so catalog_version is bumped and listeners reload after commit
+                transactionTemplate.executeWithoutResult(tx -> eventPublisher.publishEvent(CatalogChangedEvent.reloaded()));
+            }
+        }
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        return new BulkUpsertResult(counts.inserted, counts.updated, counts.unchanged, counts.rejected, elapsedMs, counts.errors);
+    }
+
+    // One transaction: uniqueness pre-check for the whole batch, then one batch insert + one batch update
+    private void apply(List<Pending> batch, Counts counts) {
+        transactionTemplate.executeWithoutResult(tx -> {
+            List<String> regNos = batch.stream().map(p -> p.data().getRegNo()).toList();
+            Map<String, MedicineMasterDto> existing = new HashMap<>(regNos.size() * 2);
+            for (MedicineMasterDto m : medicineRepository.findDtosByRegNoIn(regNos)) {
+                existing.put(m.getRegNo().toUpperCase(Locale.ROOT), m);
+            }
+
+            List<Object[]> inserts = new ArrayList<>();
+            List<Object[]> updates = new ArrayList<>();
+            int unchanged = 0;
+            for (Pending p : batch) {
+                MedicineBulkRow r = p.data();
+                MedicineMasterDto current = existing.get(r.getRegNo().toUpperCase(Locale.ROOT));
+                if (current == null) {
+                    CatalogStatus status = p.status() != null ? p.status() : CatalogStatus.ACTIVE;
+                    inserts.add(new Object[]{null, r.getGenericName(), r.getBrandName(), r.getManufacturer(), r.getCountry(),
+                            r.getRegNo(), r.getDosage(), status.ordinal()});
+                    continue;
+                }
+                CatalogStatus status = p.status() != null ? p.status()
+                        : current.getStatus() != null ? CatalogStatus.valueOf(current.getStatus()) : CatalogStatus.ACTIVE;
+                if (sameAs(current, r, status)) {
+                    unchanged++;
+                } else {
+                    updates.add(new Object[]{r.getGenericName(), r.getBrandName(), r.getManufacturer(), r.getCountry(),
+                            r.getRegNo(), r.getDosage(), status.ordinal(), current.getId()});
+                }
+            }
+
+            if (!inserts.isEmpty()) {
+                // ids come from the same allocator as JPA inserts (no AUTO_INCREMENT on the column)
+                long id = idAllocatorService.reserve("medicine_master", inserts.size());
+                for (Object[] args : inserts) args[0] = (int) id++;
+                jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+            }
+            if (!updates.isEmpty()) jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+
+            counts.inserted += inserts.size();
+            counts.updated += updates.size();
+            counts.unchanged += unchanged;
+        });
+    }
+
+    private static boolean sameAs(MedicineMasterDto current, MedicineBulkRow r, CatalogStatus status) {
+        return Objects.equals(current.getGenericName(), r.getGenericName())
+                && Objects.equals(current.getBrandName(), r.getBrandName())
+                && Objects.equals(current.getManufacturer(), r.getManufacturer())
+                && Objects.equals(current.getCountry(), r.getCountry())
+                && Objects.equals(current.getRegNo(), r.getRegNo())
+                && Objects.equals(current.getDosage(), r.getDosage())
+                && status.name().equals(current.getStatus());
+    }
+
+    private static void normalize(MedicineBulkRow r) {
+        r.setGenericName(clean(r.getGenericName()));
+        r.setBrandName(clean(r.getBrandName()));
+        r.setManufacturer(clean(r.getManufacturer()));
+        r.setCountry(clean(r.getCountry()));
+        r.setRegNo(clean(r.getRegNo()));
+        r.setDosage(clean(r.getDosage()));
+        r.setStatus(clean(r.getStatus()));
+    }
+
+    // null when the row is acceptable
+    private static String validate(MedicineBulkRow r) {
+        if (r.getRegNo() == null) return "regNo is required";
+        if (r.getRegNo().length() > REG_NO_MAX_LENGTH) return tooLong("regNo", REG_NO_MAX_LENGTH);
+        if (longerThan(r.getGenericName(), TEXT_MAX_LENGTH)) return tooLong("genericName", TEXT_MAX_LENGTH);
+        if (longerThan(r.getBrandName(), TEXT_MAX_LENGTH)) return tooLong("brandName", TEXT_MAX_LENGTH);
+        if (longerThan(r.getManufacturer(), TEXT_MAX_LENGTH)) return tooLong("manufacturer", TEXT_MAX_LENGTH);
+        if (longerThan(r.getCountry(), TEXT_MAX_LENGTH)) return tooLong("country", TEXT_MAX_LENGTH);
+        if (longerThan(r.getDosage(), TEXT_MAX_LENGTH)) return tooLong("dosage", TEXT_MAX_LENGTH);
+        if (r.getStatus() != null) {
+            try {
+                CatalogStatus.valueOf(r.getStatus().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return "Unknown status: " + r.getStatus();
+            }
+        }
+        return null;
+    }
+
+    private static boolean longerThan(String value, int max) {
+        return value != null && value.length() > max;
+    }
+
+    private static String tooLong(String field, int max) {
+        return field + " is longer than " + max + " characters";
+    }
+
+    // header name (case-insensitive) -> column index
+    private static Map<String, Integer> columns(String[] header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.length; i++) {
+            String name = header[i] == null ? "" : header[i].replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+            columns.putIfAbsent(name, i);
+        }
+        return columns;
+    }
+
+    private static String cell(String[] c, Integer index) {
+        return (index == null || index >= c.length) ? null : c[index];
+    }
+
+    // same cleanup as the bootstrap importer: trim, drop surrounding quotes, blank -> null
+    private static String clean(String value) {
+        if (value == null) return null;
+        String s = value.trim();
+        if (s.length() >= 2 && s.startsWith("\"") && s.endsWith("\"")) {
+            s = s.substring(1, s.length() - 1).trim();
+        }
+        return s.isEmpty() ? null : s;
+    }
+}
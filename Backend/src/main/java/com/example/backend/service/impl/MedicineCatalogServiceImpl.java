@@ -1,56 +1,102 @@
 package com.example.backend.service.impl;
 
+import com.example.backend.dto.response.MedicineMasterDto;
 import com.example.backend.dto.response.MedicineSuggestResponse;
-import com.example.backend.entity.MedicineMaster;
 import com.example.backend.repository.MedicineMasterRepository;
 import com.example.backend.service.MedicineCatalogService;
+import com.example.backend.service.MedicineCatalogSnapshotService;
+import com.example.backend.service.MedicinePopularityService;
+import com.example.backend.service.MedicineSearchIndexService;
+import com.example.backend.util.JsonStreams;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectMapper;
 
+import java.io.OutputStream;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class MedicineCatalogServiceImpl implements MedicineCatalogService {
+    // Served from the in-memory snapshot (no query, no copy)
     @Override
-    public java.util.List<com.example.backend.dto.response.MedicineMasterDto> getAll() {
-        return medicineRepo.findAll().stream().map(m -> new com.example.backend.dto.response.MedicineMasterDto(
-            m.getId(),
-            m.getGenericName(),
-            m.getBrandName(),
-            m.getManufacturer(),
-            m.getCountry(),
-            m.getRegNo(),
-            m.getStatus() != null ? m.getStatus().name() : null,
-            m.getDosage()
-        )).toList();
+    public List<MedicineMasterDto> getAll() {
+        return catalogSnapshot.all();
     }
 
     private final MedicineMasterRepository medicineRepo;
+    private final ObjectMapper objectMapper;
+    private final MedicineSearchIndexService searchIndexService;
+    private final MedicineCatalogSnapshotService catalogSnapshot;
+    private final MedicinePopularityService popularityService;
 
     @Override
-    public MedicineMaster getOne(Integer id) {
-        return medicineRepo.findById(id).orElseThrow(() -> new RuntimeException("Medicine not found"));
+    @Transactional(readOnly = true)
+    public void streamAll(OutputStream out) {
+        try (Stream<MedicineMasterDto> rows = medicineRepo.streamAllDtos();
+             JsonGenerator gen = JsonStreams.generator(objectMapper, out)) {
+            gen.writeStartArray();
+            int written = 0;
+            for (MedicineMasterDto dto : (Iterable<MedicineMasterDto>) rows::iterator) {
+                gen.writePOJO(dto);
+                if (++written % JsonStreams.FLUSH_EVERY == 0) gen.flush();
+            }
+            gen.writeEndArray();
+        }
     }
 
     @Override
-    public List<MedicineSuggestResponse> suggest(String q) {
+    public MedicineMasterDto getOne(Integer id) {
+        MedicineMasterDto m = catalogSnapshot.byId(id);
+        if (m == null) throw new RuntimeException("Medicine not found");
+        return m;
+    }
+
+    @Override
+    public MedicineMasterDto getByRegNo(String regNo) {
+        MedicineMasterDto m = catalogSnapshot.byRegNo(regNo == null ? null : regNo.trim());
+        if (m == null) throw new RuntimeException("Medicine not found");
+        return m;
+    }
+
+    @Override
+    public List<MedicineSuggestResponse> suggest(String q, boolean fuzzy) {
         if (q == null) return Collections.emptyList();
         q = q.trim();
-        if (q.length() < 2) return Collections.emptyList(); // prevent heavy queries
-
-        List<MedicineMaster> list =
-                medicineRepo.findTop10ByGenericNameStartingWithIgnoreCaseOrBrandNameStartingWithIgnoreCase(q, q);
-
-        return list.stream()
-                .map(m -> new MedicineSuggestResponse(
-                        m.getId(),
-                        m.getRegNo(),
-                        m.getGenericName(),
-                        m.getBrandName(),
-                        m.getDosage()
-                ))
-                .toList();
+        if (q.length() < 2) return Collections.emptyList();
+
+        // in-memory indexes, no database round trip per keystroke
+        // prefix hits: the 10 most popular of every name starting with q
+        List<MedicineMasterDto> hits = fuzzy ? List.of() : searchIndexService.suggest(q, 10, popularityService::score);
+        if (hits.isEmpty()) hits = searchIndexService.fuzzy(q, 10);
+
+        return hits.stream().map(this::toSuggest).toList();
+    }
+
+    @Override
+    public void recordSelection(Integer id) {
+        if (catalogSnapshot.byId(id) == null) throw new RuntimeException("Medicine not found");
+        popularityService.recordSelection(id);
+    }
+
+    @Override
+    public List<MedicineSuggestResponse> search(String q, int limit) {
+        if (q == null || q.isBlank()) return Collections.emptyList();
+        int max = Math.max(1, Math.min(limit, 100));
+        return searchIndexService.search(q, max).stream().map(this::toSuggest).toList();
+    }
+
+    private MedicineSuggestResponse toSuggest(MedicineMasterDto m) {
+        return new MedicineSuggestResponse(
+                m.getId(),
+                m.getRegNo(),
+                m.getGenericName(),
+                m.getBrandName(),
+                m.getDosage()
+        );
     }
 }
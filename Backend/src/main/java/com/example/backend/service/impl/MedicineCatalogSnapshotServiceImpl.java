@@ -0,0 +1,171 @@
+package com.example.backend.service.impl;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.backend.dto.response.CatalogMemoryReportResponse;
+import com.example.backend.dto.response.MedicineMasterDto;
+import com.example.backend.event.CatalogChangedEvent;
+import com.example.backend.repository.CatalogVersionRepository;
+import com.example.backend.repository.MedicineMasterRepository;
+import com.example.backend.service.CatalogImportStatusService;
+import com.example.backend.service.MedicineCatalogSnapshotService;
+import com.example.backend.util.CompactCatalog;
+
+/**
+ * Immutable catalog snapshot behind one volatile reference.
+ * Rows are held column-wise in a CompactCatalog (dictionary-encoded, binary-searched by id and regNo);
+ * writers build a modified copy and swap it in after commit.
+ *
+ * Multi-node (app.catalog.multi-node=true): every catalog write also bumps the catalog_version row in the
+ * same transaction, and each node polls that row; a version it has not applied itself triggers a full reload.
+ */
+@Service
+public class MedicineCatalogSnapshotServiceImpl implements MedicineCatalogSnapshotService {
+
+    private record Snapshot(long version, CompactCatalog catalog) {
+    }
+
+    private final MedicineMasterRepository medicineRepository;
+    private final CatalogVersionRepository versionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CatalogImportStatusService importStatusService;
+    private final boolean multiNode;
+
+    private volatile Snapshot current = new Snapshot(0, CompactCatalog.EMPTY);
+
+    // catalog_version value this node's snapshot reflects (multi-node mode)
+    private volatile long appliedDbVersion = -1;
+    // DB version written by the current thread's transaction, applied locally after commit
+    private final ThreadLocal<Long> pendingDbVersion = new ThreadLocal<>();
+
+    public MedicineCatalogSnapshotServiceImpl(
+            MedicineMasterRepository medicineRepository,
+            CatalogVersionRepository versionRepository,
+            ApplicationEventPublisher eventPublisher,
+            CatalogImportStatusService importStatusService,
+            @Value("${app.catalog.multi-node:false}") boolean multiNode
+    ) {
+        this.medicineRepository = medicineRepository;
+        this.versionRepository = versionRepository;
+        this.eventPublisher = eventPublisher;
+        this.importStatusService = importStatusService;
+        this.multiNode = multiNode;
+    }
+
+    // One event loads every catalog view (this snapshot, search indexes, facets, listing projection) and,
+    // through DataVersionService, moves the catalog ETag off the value clients may have cached for the
+    // empty views. The catalog endpoints only open once this has run (CatalogImportStatusService).
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        eventPublisher.publishEvent(CatalogChangedEvent.initialLoad());
+        importStatusService.markCatalogLoaded();
+    }
+
+    @Override
+    public List<MedicineMasterDto> all() {
+        return current.catalog().asList();
+    }
+
+    @Override
+    public MedicineMasterDto byId(Integer id) {
+        return id == null ? null : current.catalog().findById(id);
+    }
+
+    @Override
+    public MedicineMasterDto byRegNo(String regNo) {
+        return current.catalog().findByRegNo(regNo);
+    }
+
+    @Override
+    public long version() {
+        return current.version();
+    }
+
+    @Override
+    public CatalogMemoryReportResponse memoryReport() {
+        CompactCatalog c = current.catalog();
+        long compact = c.estimatedHeapBytes();
+        long list = c.estimatedDtoListBytes();
+        double saved = list == 0 ? 0 : Math.round((1 - (double) compact / list) * 1000) / 10.0;
+        return new CatalogMemoryReportResponse(
+                c.size(),
+                c.distinctManufacturers(),
+                c.distinctCountries(),
+                c.distinctDosages(),
+                compact,
+                list,
+                saved
+        );
+    }
+
+    @Override
+    public synchronized void reload() {
+        // read the DB version first: a write landing during the load is picked up by the next poll
+        Long dbVersion = multiNode ? versionRepository.findCurrentVersion() : null;
+        current = new Snapshot(current.version() + 1, CompactCatalog.of(medicineRepository.findAllDtos()));
+        if (multiNode) appliedDbVersion = dbVersion != null ? dbVersion : 0;
+    }
+
+    // Same transaction as the catalog write (synchronous listener): count the change for other nodes.
+    // Single-node mode has nobody to tell, so the version row is left alone.
+    @EventListener
+    public void onCatalogWrite(CatalogChangedEvent e) {
+        if (!multiNode || !e.isLocalWrite()) return;
+        versionRepository.bump();
+        pendingDbVersion.set(versionRepository.findCurrentVersion());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // also on rollback, where the after-commit listener never runs and would leave it on a pooled thread
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    pendingDbVersion.remove();
+                }
+            });
+        }
+    }
+
+    // After commit, before DataVersionService moves the catalog ETag
+    @Order(5)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCatalogChanged(CatalogChangedEvent e) {
+        Long written = pendingDbVersion.get();
+        pendingDbVersion.remove();
+
+        if (e.isReload()) {
+            reload();
+            return;
+        }
+
+        Snapshot s = current;
+        CompactCatalog next = e.isDeleted()
+                ? s.catalog().without(e.getMedicineId())
+                : s.catalog().with(e.getMedicine());
+        current = new Snapshot(s.version() + 1, next);
+
+        // our own write was the only one since the last applied version: no reload needed on the next poll
+        if (multiNode && written != null && written == appliedDbVersion + 1) {
+            appliedDbVersion = written;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.catalog.version-poll-ms:5000}")
+    public void pollVersion() {
+        if (!multiNode) return;
+        Long dbVersion = versionRepository.findCurrentVersion();
+        if (dbVersion != null && dbVersion != appliedDbVersion) {
+            // every catalog view (snapshot, search indexes, listing projection) reloads from this one event
+            eventPublisher.publishEvent(CatalogChangedEvent.remoteReload());
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.backend.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.backend.dto.response.MedicineFacetsResponse;
+import com.example.backend.dto.response.MedicineFacetsResponse.FacetCount;
+import com.example.backend.dto.response.MedicineMasterDto;
+import com.example.backend.event.CatalogChangedEvent;
+import com.example.backend.service.MedicineCatalogSnapshotService;
+import com.example.backend.service.MedicineFacetService;
+import com.example.backend.service.MedicineSearchIndexService;
+
+/**
+ * Catalog facet counts (manufacturer, brand, country, status) kept in memory.
+ *
+ * The unfiltered counts are maintained from CatalogChangedEvent: a write decrements the old row's values
+ * (read from the catalog snapshot, which is the only place rows are kept) and increments the new ones,
+ * then the (small, immutable) response is rebuilt, so opening the filter dropdowns never scans
+ * medicine_master. Filtered counts are computed from the in-memory catalog (or the search hits when q is given).
+ */
+@Service
+public class MedicineFacetServiceImpl implements MedicineFacetService {
+
+    private final MedicineCatalogSnapshotService catalogSnapshot;
+    private final MedicineSearchIndexService searchIndexService;
+
+    private record FacetKey(String manufacturer, String brand, String country, String status) {
+        static FacetKey of(MedicineMasterDto m) {
+            return new FacetKey(clean(m.getManufacturer()), clean(m.getBrandName()), clean(m.getCountry()), clean(m.getStatus()));
+        }
+    }
+
+    // guarded by this
+    private long rowCount;
+    private final Map<String, Long> manufacturerCounts = new HashMap<>();
+    private final Map<String, Long> brandCounts = new HashMap<>();
+    private final Map<String, Long> countryCounts = new HashMap<>();
+    private final Map<String, Long> statusCounts = new HashMap<>();
+
+    private volatile MedicineFacetsResponse unfiltered = new MedicineFacetsResponse(0, List.of(), List.of(), List.of(), List.of());
+
+    public MedicineFacetServiceImpl(
+            MedicineCatalogSnapshotService catalogSnapshot,
+            MedicineSearchIndexService searchIndexService
+    ) {
+        this.catalogSnapshot = catalogSnapshot;
+        this.searchIndexService = searchIndexService;
+    }
+
+    // counted from the catalog snapshot, not medicine_master: the table is read once per reload, by the snapshot
+    @Override
+    public synchronized void reload() {
+        rowCount = 0;
+        manufacturerCounts.clear();
+        brandCounts.clear();
+        countryCounts.clear();
+        statusCounts.clear();
+        for (MedicineMasterDto m : catalogSnapshot.all()) {
+            add(FacetKey.of(m));
+        }
+        publish();
+    }
+
+    // Before the snapshot applies the change (@Order(5)), so the old row can still be read from it
+    @Order(4)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCatalogChanged(CatalogChangedEvent e) {
+        if (e.isReload()) return;
+        MedicineMasterDto oldRow = catalogSnapshot.byId(e.getMedicineId());
+        if (oldRow != null) {
+            FacetKey old = FacetKey.of(oldRow);
+            rowCount--;
+            decrement(manufacturerCounts, old.manufacturer());
+            decrement(brandCounts, old.brand());
+            decrement(countryCounts, old.country());
+            decrement(statusCounts, old.status());
+        }
+        if (!e.isDeleted()) add(FacetKey.of(e.getMedicine()));
+        publish();
+    }
+
+    // After the snapshot has reloaded (@Order(5)), so the counts are taken from the new catalog
+    @Order(6)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogReloaded(CatalogChangedEvent e) {
+        if (e.isReload()) reload();
+    }
+
+    @Override
+    public MedicineFacetsResponse facets(String q, String status, String manufacturer, String country, String brandName) {
+        String st = clean(status), mf = clean(manufacturer), co = clean(country), br = clean(brandName);
+        if ("ALL".equalsIgnoreCase(st)) st = null;
+        String text = clean(q);
+        if (text == null && st == null && mf == null && co == null && br == null) {
+            return unfiltered;
+        }
+
+        // same rows as the admin list for this q: token hits, or the substring fallback when there are none
+        Collection<MedicineMasterDto> rows = catalogSnapshot.all();
+        if (text != null) {
+            rows = searchIndexService.search(text, Integer.MAX_VALUE);
+            if (rows.isEmpty()) rows = searchIndexService.containing(text);
+        }
+
+        Map<String, Long> manufacturers = new HashMap<>();
+        Map<String, Long> brands = new HashMap<>();
+        Map<String, Long> countries = new HashMap<>();
+        Map<String, Long> statuses = new HashMap<>();
+        long total = 0;
+        for (MedicineMasterDto m : rows) {
+            FacetKey k = FacetKey.of(m);
+            boolean okStatus = matches(st, k.status());
+            boolean okManufacturer = matches(mf, k.manufacturer());
+            boolean okCountry = matches(co, k.country());
+            boolean okBrand = matches(br, k.brand());
+
+            if (okStatus && okCountry && okBrand) increment(manufacturers, k.manufacturer());
+            if (okStatus && okManufacturer && okCountry) increment(brands, k.brand());
+            if (okStatus && okManufacturer && okBrand) increment(countries, k.country());
+            if (okManufacturer && okCountry && okBrand) increment(statuses, k.status());
+            if (okStatus && okManufacturer && okCountry && okBrand) total++;
+        }
+        return new MedicineFacetsResponse(total, sorted(manufacturers), sorted(brands), sorted(countries), sorted(statuses));
+    }
+
+    @Override
+    public List<String> manufacturers() {
+        return unfiltered.getManufacturers().stream().map(FacetCount::getValue).toList();
+    }
+
+    @Override
+    public List<String> brands() {
+        return unfiltered.getBrands().stream().map(FacetCount::getValue).toList();
+    }
+
+    // ===== Helpers =====
+
+    private void add(FacetKey k) {
+        rowCount++;
+        increment(manufacturerCounts, k.manufacturer());
+        increment(brandCounts, k.brand());
+        increment(countryCounts, k.country());
+        increment(statusCounts, k.status());
+    }
+
+    private void publish() {
+        unfiltered = new MedicineFacetsResponse(
+                rowCount,
+                sorted(manufacturerCounts),
+                sorted(brandCounts),
+                sorted(countryCounts),
+                sorted(statusCounts)
+        );
+    }
+
+    private static void increment(Map<String, Long> counts, String value) {
+        if (value != null) counts.merge(value, 1L, Long::sum);
+    }
+
+    private static void decrement(Map<String, Long> counts, String value) {
+        if (value != null) counts.computeIfPresent(value, (k, n) -> n > 1 ? n - 1 : null);
+    }
+
+    // same order as the old "select distinct ... order by" dropdown queries
+    private static List<FacetCount> sorted(Map<String, Long> counts) {
+        List<FacetCount> result = new ArrayList<>(counts.size());
+        counts.forEach((value, count) -> result.add(new FacetCount(value, count)));
+        result.sort((a, b) -> String.CASE_INSENSITIVE_ORDER.compare(a.getValue(), b.getValue()));
+        return List.copyOf(result);
+    }
+
+    private static boolean matches(String filter, String value) {
+        return filter == null || (value != null && value.equalsIgnoreCase(filter));
+    }
+
+    private static String clean(String value) {
+        if (value == null) return null;
+        String v = value.trim();
+        return v.isEmpty() ? null : v;
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.backend.service.impl;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.backend.entity.MedicinePopularity;
+import com.example.backend.repository.MedicinePopularityRepository;
+import com.example.backend.service.MedicineCatalogSnapshotService;
+import com.example.backend.service.MedicinePopularityService;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Request threads only bump LongAdders (striped, no locks, no I/O); a scheduled flush drains them
+ * into medicine_popularity with one JDBC batch of additive upserts.
+ * score = persisted counts + not yet flushed counts, selections weighted above searches.
+ * Only ids present in the catalog snapshot are counted, so arbitrary ids from public requests
+ * cannot grow the counter map or the table.
+ */
+@Service
+public class MedicinePopularityServiceImpl implements MedicinePopularityService {
+
+    private static final Logger log = LoggerFactory.getLogger(MedicinePopularityServiceImpl.class);
+
+    private static final int SELECT_WEIGHT = 3;
+
+    private static final String UPSERT_SQL = """
+            insert into medicine_popularity (medicine_id, search_count, select_count, updated_at)
+            values (?, ?, ?, ?)
+            on duplicate key update
+                search_count = search_count + values(search_count),
+                select_count = select_count + values(select_count),
+                updated_at = values(updated_at)
+            """;
+
+    private final MedicinePopularityRepository popularityRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final MedicineCatalogSnapshotService catalogSnapshot;
+
+    private final Map<Integer, Counter> counters = new ConcurrentHashMap<>();
+
+    public MedicinePopularityServiceImpl(
+            MedicinePopularityRepository popularityRepository,
+            JdbcTemplate jdbcTemplate,
+            MedicineCatalogSnapshotService catalogSnapshot
+    ) {
+        this.popularityRepository = popularityRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.catalogSnapshot = catalogSnapshot;
+    }
+
+    private static final class Counter {
+        final LongAdder pendingSearches = new LongAdder();
+        final LongAdder pendingSelections = new LongAdder();
+        // flushed totals (persisted weight); written by the flush thread only
+        volatile long persisted;
+
+        long score() {
+            return persisted + pendingSearches.sum() + SELECT_WEIGHT * pendingSelections.sum();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        for (MedicinePopularity p : popularityRepository.findAll()) {
+            counter(p.getMedicineId()).persisted = p.getSearchCount() + SELECT_WEIGHT * p.getSelectCount();
+        }
+    }
+
+    @Override
+    public void recordSearch(Integer medicineId) {
+        if (isKnown(medicineId)) counter(medicineId).pendingSearches.increment();
+    }
+
+    @Override
+    public void recordSelection(Integer medicineId) {
+        if (isKnown(medicineId)) counter(medicineId).pendingSelections.increment();
+    }
+
+    @Override
+    public long score(Integer medicineId) {
+        Counter c = medicineId == null ? null : counters.get(medicineId);
+        return c == null ? 0 : c.score();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.popularity.flush-ms:30000}")
+    public synchronized void flush() {
+        List<Object[]> batch = new ArrayList<>();
+        List<Runnable> commit = new ArrayList<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        for (Map.Entry<Integer, Counter> e : counters.entrySet()) {
+            Counter c = e.getValue();
+            long searches = c.pendingSearches.sumThenReset();
+            long selections = c.pendingSelections.sumThenReset();
+            if (searches == 0 && selections == 0) continue;
+            batch.add(new Object[]{e.getKey(), searches, selections, now});
+            commit.add(() -> c.persisted += searches + SELECT_WEIGHT * selections);
+        }
+        if (batch.isEmpty()) return;
+
+        try {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, batch);
+            commit.forEach(Runnable::run);
+        } catch (RuntimeException ex) {
+            // put the counts back so they go out with the next flush
+            for (Object[] row : batch) {
+                Counter c = counter((Integer) row[0]);
+                c.pendingSearches.add((Long) row[1]);
+                c.pendingSelections.add((Long) row[2]);
+            }
+            log.warn("Popularity flush failed, will retry: {}", ex.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void onShutdown() {
+        flush();
+    }
+
+    private boolean isKnown(Integer medicineId) {
+        return medicineId != null && catalogSnapshot.byId(medicineId) != null;
+    }
+
+    private Counter counter(Integer medicineId) {
+        return counters.computeIfAbsent(medicineId, x -> new Counter());
+    }
+}
@@ -0,0 +1,446 @@
+package com.example.backend.service.impl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.ToLongFunction;
+import java.util.regex.Pattern;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.backend.dto.response.MedicineMasterDto;
+import com.example.backend.event.CatalogChangedEvent;
+import com.example.backend.service.MedicineCatalogSnapshotService;
+import com.example.backend.service.MedicineSearchIndexService;
+
+/**
+ * In-memory search indexes over the medicine catalog, loaded at startup and maintained from CatalogChangedEvent.
+ *
+ * Prefix index: case-folded generic/brand names in a sorted map keyed "name\0id";
+ * a prefix lookup is one seek plus a short range walk, with no database round trip.
+ *
+ * Trigram index: distinct folded names -> medicine ids, and trigram -> names. A fuzzy lookup counts shared
+ * trigrams per candidate name (only names sharing at least one trigram are touched), keeps the best by
+ * Jaccard similarity, then re-ranks those few by edit distance.
+ *
+ * Token index: token -> (medicine id -> bit mask of the fields containing it) over generic name, brand,
+ * dosage, manufacturer and regNo. Words are also split at letter/digit boundaries ("500mg" -> 500, mg),
+ * so "500mg paracetamol" matches "Paracetamol 500 mg" in any word order. Queries intersect the postings
+ * of every token (AND) starting from the rarest, and score by the weight of the fields that matched.
+ *
+ * The indexes hold ids only; hits are read back from the catalog snapshot (compact column store), so no
+ * row is kept a second time here.
+ *
+ * All maps of one generation live in an Indexes object behind a volatile reference: a reload builds a new
+ * one off to the side from the freshly reloaded snapshot and swaps it in, so lookups never see a half-filled index. Single-row events update
+ * the current generation in place.
+ */
+@Service
+public class MedicineSearchIndexServiceImpl implements MedicineSearchIndexService {
+
+    private static final int MIN_QUERY_LENGTH = 2;
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private static final double MIN_SIMILARITY = 0.2;
+    private static final int MAX_FUZZY_CANDIDATES = 50;
+    private static final Pattern WORD_SPLIT = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern LETTER_DIGIT_SPLIT = Pattern.compile("(?<=\\p{L})(?=\\p{N})|(?<=\\p{N})(?=\\p{L})");
+
+    private static final int F_GENERIC = 1, F_BRAND = 2, F_REG_NO = 4, F_DOSAGE = 8, F_MANUFACTURER = 16;
+
+    private final MedicineCatalogSnapshotService catalogSnapshot;
+
+    private volatile Indexes indexes = new Indexes();
+
+    public MedicineSearchIndexServiceImpl(MedicineCatalogSnapshotService catalogSnapshot) {
+        this.catalogSnapshot = catalogSnapshot;
+    }
+
+    // rebuilt from the catalog snapshot, not medicine_master: the table is read once per reload, by the snapshot
+    @Override
+    public synchronized void reload() {
+        Indexes fresh = new Indexes();
+        for (MedicineMasterDto m : catalogSnapshot.all()) {
+            fresh.add(m);
+        }
+        indexes = fresh;
+    }
+
+    // Before the snapshot applies the change (@Order(5)), so the old row is still there to un-index
+    @Order(4)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCatalogChanged(CatalogChangedEvent e) {
+        if (e.isReload()) return;
+        Indexes ix = indexes;
+        MedicineMasterDto old = catalogSnapshot.byId(e.getMedicineId());
+        if (old != null) ix.remove(old);
+        if (!e.isDeleted()) ix.add(e.getMedicine());
+    }
+
+    // After the snapshot has reloaded (@Order(5)), so the rebuild reads the new catalog from it
+    @Order(6)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogReloaded(CatalogChangedEvent e) {
+        if (e.isReload()) reload();
+    }
+
+    @Override
+    public List<MedicineMasterDto> suggest(String q, int limit) {
+        String prefix = fold(q);
+        if (prefix.length() < MIN_QUERY_LENGTH || limit <= 0) return List.of();
+        Indexes ix = indexes;
+
+        // same medicine can match on both names: keep the first (best-ordered) hit
+        Set<Integer> ids = new LinkedHashSet<>();
+        for (Integer id : ix.prefixIndex.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            ids.add(id);
+            if (ids.size() >= limit) break;
+        }
+
+        List<MedicineMasterDto> result = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            MedicineMasterDto m = catalogSnapshot.byId(id);
+            if (m != null) result.add(m);
+        }
+        return result;
+    }
+
+    @Override
+    public List<MedicineMasterDto> suggest(String q, int limit, ToLongFunction<Integer> score) {
+        String prefix = fold(q);
+        if (prefix.length() < MIN_QUERY_LENGTH || limit <= 0) return List.of();
+        Indexes ix = indexes;
+
+        // walk the whole prefix range (a popular name past the first alphabetical page must still win),
+        // keeping only the best `limit` in a min-heap: highest score, then earliest in name order
+        Comparator<Ranked> worstFirst = Comparator.comparingLong(Ranked::score)
+                .thenComparing(Comparator.comparingLong(Ranked::order).reversed());
+        PriorityQueue<Ranked> top = new PriorityQueue<>(limit + 1, worstFirst);
+        Set<Integer> seen = new HashSet<>();
+        long order = 0;
+        for (Integer id : ix.prefixIndex.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            if (!seen.add(id)) continue;
+            top.add(new Ranked(id, score.applyAsLong(id), order++));
+            if (top.size() > limit) top.poll();
+        }
+
+        List<Ranked> ranked = new ArrayList<>(top);
+        ranked.sort(worstFirst.reversed());
+        List<MedicineMasterDto> result = new ArrayList<>(ranked.size());
+        for (Ranked r : ranked) {
+            MedicineMasterDto m = catalogSnapshot.byId(r.id());
+            if (m != null) result.add(m);
+        }
+        return result;
+    }
+
+    private record Ranked(Integer id, long score, long order) {
+    }
+
+    @Override
+    public List<MedicineMasterDto> fuzzy(String q, int limit) {
+        String query = fold(q);
+        if (query.length() < MIN_QUERY_LENGTH || limit <= 0) return List.of();
+        Indexes ix = indexes;
+
+        // 1) candidate names sharing trigrams with the query
+        Set<String> queryGrams = trigrams(query);
+        Map<String, Integer> shared = new HashMap<>();
+        for (String gram : queryGrams) {
+            Set<String> names = ix.namesByTrigram.get(gram);
+            if (names == null) continue;
+            for (String name : names) shared.merge(name, 1, Integer::sum);
+        }
+        if (shared.isEmpty()) return List.of();
+
+        // 2) keep the most similar (Jaccard over trigram sets)
+        List<Candidate> candidates = new ArrayList<>();
+        for (Map.Entry<String, Integer> e : shared.entrySet()) {
+            int common = e.getValue();
+            int nameGrams = ix.trigramCountByName.getOrDefault(e.getKey(), common);
+            double similarity = (double) common / (queryGrams.size() + nameGrams - common);
+            if (similarity >= MIN_SIMILARITY) candidates.add(new Candidate(e.getKey(), similarity, 0));
+        }
+        candidates.sort(Comparator.comparingDouble(Candidate::similarity).reversed());
+        if (candidates.size() > MAX_FUZZY_CANDIDATES) candidates = candidates.subList(0, MAX_FUZZY_CANDIDATES);
+
+        // 3) re-rank by edit distance, dropping matches with too many edits
+        int maxEdits = 1 + query.length() / 4;
+        List<Candidate> ranked = new ArrayList<>();
+        for (Candidate c : candidates) {
+            int distance = bestDistance(query, c.name());
+            if (distance <= maxEdits) ranked.add(new Candidate(c.name(), c.similarity(), distance));
+        }
+        ranked.sort(Comparator.comparingInt(Candidate::distance)
+                .thenComparing(Comparator.comparingDouble(Candidate::similarity).reversed())
+                .thenComparing(Candidate::name));
+
+        Set<Integer> ids = new LinkedHashSet<>();
+        for (Candidate c : ranked) {
+            Set<Integer> nameIds = ix.idsByName.get(c.name());
+            if (nameIds == null) continue;
+            for (Integer id : nameIds) {
+                ids.add(id);
+                if (ids.size() >= limit) break;
+            }
+            if (ids.size() >= limit) break;
+        }
+
+        List<MedicineMasterDto> result = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            MedicineMasterDto m = catalogSnapshot.byId(id);
+            if (m != null) result.add(m);
+        }
+        return result;
+    }
+
+    private record Candidate(String name, double similarity, int distance) {
+    }
+
+    @Override
+    public List<MedicineMasterDto> search(String q, int limit) {
+        List<String> tokens = queryTokens(fold(q));
+        if (tokens.isEmpty() || limit <= 0) return List.of();
+        Indexes ix = indexes;
+
+        // per query token: id -> best field score; the last token also matches as a prefix (search-as-you-type)
+        List<Map<Integer, Double>> perToken = new ArrayList<>(tokens.size());
+        for (int i = 0; i < tokens.size(); i++) {
+            Map<Integer, Double> scores = tokenScores(ix, tokens.get(i), i == tokens.size() - 1);
+            if (scores.isEmpty()) return List.of();
+            perToken.add(scores);
+        }
+        perToken.sort(Comparator.comparingInt(Map::size));
+
+        // AND: walk the rarest token's ids, keep those present in every other token's postings
+        Map<Integer, Double> total = new HashMap<>();
+        outer:
+        for (Map.Entry<Integer, Double> e : perToken.get(0).entrySet()) {
+            double score = e.getValue();
+            for (int i = 1; i < perToken.size(); i++) {
+                Double s = perToken.get(i).get(e.getKey());
+                if (s == null) continue outer;
+                score += s;
+            }
+            total.put(e.getKey(), score);
+        }
+
+        List<MedicineMasterDto> result = new ArrayList<>(total.size());
+        for (Integer id : total.keySet()) {
+            MedicineMasterDto m = catalogSnapshot.byId(id);
+            if (m != null) result.add(m);
+        }
+        result.sort(Comparator.<MedicineMasterDto>comparingDouble(m -> -total.get(m.getId()))
+                .thenComparing(m -> fold(m.getGenericName()))
+                .thenComparing(MedicineMasterDto::getId));
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    @Override
+    public List<MedicineMasterDto> containing(String q) {
+        String needle = fold(q);
+        if (needle.isEmpty()) return List.of();
+        List<MedicineMasterDto> result = new ArrayList<>();
+        for (MedicineMasterDto m : catalogSnapshot.all()) {
+            if (fold(m.getGenericName()).contains(needle) || fold(m.getBrandName()).contains(needle)
+                    || fold(m.getRegNo()).contains(needle)) {
+                result.add(m);
+            }
+        }
+        return result;
+    }
+
+    private static Map<Integer, Double> tokenScores(Indexes ix, String token, boolean prefix) {
+        Map<Integer, Double> scores = new HashMap<>();
+        Map<Integer, Integer> exact = ix.postingsByToken.get(token);
+        if (exact != null) {
+            exact.forEach((id, mask) -> scores.merge(id, fieldWeight(mask), Math::max));
+        }
+        if (prefix) {
+            // longer tokens starting with the typed text count half
+            for (Map<Integer, Integer> postings :
+                    ix.postingsByToken.subMap(token, false, token + Character.MAX_VALUE, false).values()) {
+                postings.forEach((id, mask) -> scores.merge(id, fieldWeight(mask) / 2, Math::max));
+            }
+        }
+        return scores;
+    }
+
+    private static double fieldWeight(int mask) {
+        if ((mask & F_REG_NO) != 0) return 4;
+        if ((mask & (F_GENERIC | F_BRAND)) != 0) return 3;
+        if ((mask & F_DOSAGE) != 0) return 1.5;
+        return 1; // manufacturer
+    }
+
+    // ===== Helpers =====
+
+    // one generation of every index (see class comment)
+    private static final class Indexes {
+        final NavigableMap<String, Integer> prefixIndex = new ConcurrentSkipListMap<>();
+        final Map<String, Set<Integer>> idsByName = new ConcurrentHashMap<>();
+        final Map<String, Set<String>> namesByTrigram = new ConcurrentHashMap<>();
+        final Map<String, Integer> trigramCountByName = new ConcurrentHashMap<>();
+        final NavigableMap<String, Map<Integer, Integer>> postingsByToken = new ConcurrentSkipListMap<>();
+
+        void add(MedicineMasterDto m) {
+            documentTokens(m).forEach((token, mask) ->
+                    postingsByToken.computeIfAbsent(token, x -> new ConcurrentHashMap<>()).put(m.getId(), mask));
+            for (String name : names(m)) {
+                prefixIndex.put(name + KEY_SEPARATOR + m.getId(), m.getId());
+                Set<Integer> ids = idsByName.computeIfAbsent(name, x -> ConcurrentHashMap.newKeySet());
+                if (ids.isEmpty()) {
+                    Set<String> grams = trigrams(name);
+                    trigramCountByName.put(name, grams.size());
+                    for (String gram : grams) {
+                        namesByTrigram.computeIfAbsent(gram, x -> ConcurrentHashMap.newKeySet()).add(name);
+                    }
+                }
+                ids.add(m.getId());
+            }
+        }
+
+        void remove(MedicineMasterDto m) {
+            for (String token : documentTokens(m).keySet()) {
+                Map<Integer, Integer> postings = postingsByToken.get(token);
+                if (postings != null) {
+                    postings.remove(m.getId());
+                    if (postings.isEmpty()) postingsByToken.remove(token);
+                }
+            }
+            for (String name : names(m)) {
+                prefixIndex.remove(name + KEY_SEPARATOR + m.getId());
+                Set<Integer> ids = idsByName.get(name);
+                if (ids == null) continue;
+                ids.remove(m.getId());
+                if (ids.isEmpty()) {
+                    idsByName.remove(name);
+                    trigramCountByName.remove(name);
+                    for (String gram : trigrams(name)) {
+                        Set<String> names = namesByTrigram.get(gram);
+                        if (names != null) {
+                            names.remove(name);
+                            if (names.isEmpty()) namesByTrigram.remove(gram);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    // folded generic and brand name (deduplicated)
+    private static List<String> names(MedicineMasterDto m) {
+        List<String> names = new ArrayList<>(2);
+        String generic = fold(m.getGenericName());
+        String brand = fold(m.getBrandName());
+        if (!generic.isEmpty()) names.add(generic);
+        if (!brand.isEmpty() && !brand.equals(generic)) names.add(brand);
+        return names;
+    }
+
+    // token -> mask of the fields it occurs in
+    private static Map<String, Integer> documentTokens(MedicineMasterDto m) {
+        Map<String, Integer> tokens = new HashMap<>();
+        addTokens(tokens, m.getGenericName(), F_GENERIC);
+        addTokens(tokens, m.getBrandName(), F_BRAND);
+        addTokens(tokens, m.getRegNo(), F_REG_NO);
+        addTokens(tokens, m.getDosage(), F_DOSAGE);
+        addTokens(tokens, m.getManufacturer(), F_MANUFACTURER);
+        return tokens;
+    }
+
+    // whole words and their letter/digit runs, so both "500mg" and "500" find "500mg"
+    private static void addTokens(Map<String, Integer> tokens, String field, int flag) {
+        for (String word : WORD_SPLIT.split(fold(field))) {
+            if (word.isEmpty()) continue;
+            tokens.merge(word, flag, (a, b) -> a | b);
+            String[] runs = LETTER_DIGIT_SPLIT.split(word);
+            if (runs.length > 1) {
+                for (String run : runs) tokens.merge(run, flag, (a, b) -> a | b);
+            }
+        }
+    }
+
+    // query side uses runs only: "500mg" must match "500 mg" as well as "500mg"
+    private static List<String> queryTokens(String q) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String word : WORD_SPLIT.split(q)) {
+            if (word.isEmpty()) continue;
+            for (String run : LETTER_DIGIT_SPLIT.split(word)) {
+                if (!run.isEmpty()) tokens.add(run);
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    // word-padded trigrams ("  ab", " abc", ...) so short words and word starts still produce grams
+    static Set<String> trigrams(String s) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (String word : WORD_SPLIT.split(s)) {
+            if (word.isEmpty()) continue;
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                grams.add(padded.substring(i, i + 3));
+            }
+        }
+        return grams;
+    }
+
+    // smallest edit distance between the query and the whole name, any word of it, or the name's prefix
+    // of the query's length (so a misspelled partial word still matches while typing)
+    private static int bestDistance(String query, String name) {
+        int best = osaDistance(query, name);
+        if (name.length() > query.length()) {
+            best = Math.min(best, osaDistance(query, name.substring(0, query.length())));
+        }
+        for (String word : WORD_SPLIT.split(name)) {
+            if (word.isEmpty() || word.equals(name)) continue;
+            best = Math.min(best, osaDistance(query, word));
+            if (word.length() > query.length()) {
+                best = Math.min(best, osaDistance(query, word.substring(0, query.length())));
+            }
+        }
+        return best;
+    }
+
+    // Levenshtein distance that also counts a swap of adjacent characters as one edit
+    static int osaDistance(String a, String b) {
+        int n = a.length(), m = b.length();
+        int[] prev2 = new int[m + 1];
+        int[] prev = new int[m + 1];
+        int[] cur = new int[m + 1];
+        for (int j = 0; j <= m; j++) prev[j] = j;
+        for (int i = 1; i <= n; i++) {
+            cur[0] = i;
+            for (int j = 1; j <= m; j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int d = Math.min(Math.min(prev[j] + 1, cur[j - 1] + 1), prev[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    d = Math.min(d, prev2[j - 2] + 1);
+                }
+                cur[j] = d;
+            }
+            int[] t = prev2;
+            prev2 = prev;
+            prev = cur;
+            cur = t;
+        }
+        return prev[m];
+    }
+
+    static String fold(String s) {
+        return s == null ? "" : s.trim().toLowerCase(Locale.ROOT);
+    }
+}
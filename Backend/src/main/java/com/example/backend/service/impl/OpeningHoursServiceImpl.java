@@ -0,0 +1,100 @@
+package com.example.backend.service.impl;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.backend.dto.projection.PharmacyHoursRow;
+import com.example.backend.event.PharmacyProfileChangedEvent;
+import com.example.backend.repository.PharmacyRepository;
+import com.example.backend.service.OpeningHoursService;
+import com.example.backend.util.WeeklySchedule;
+
+/**
+ * pharmacyId -> compiled WeeklySchedule. Loaded at startup and re-parsed only when a profile is saved,
+ * so open/closed checks on read paths never touch JSON or the database.
+ * Pharmacies without usable hours have no entry: their open status is reported as unknown (null).
+ */
+@Service
+public class OpeningHoursServiceImpl implements OpeningHoursService {
+
+    private final PharmacyRepository pharmacyRepository;
+    private final ZoneId zone;
+
+    private final Map<Integer, WeeklySchedule> schedules = new ConcurrentHashMap<>();
+
+    public OpeningHoursServiceImpl(
+            PharmacyRepository pharmacyRepository,
+            @Value("${app.opening-hours.zone:Asia/Colombo}") String zone
+    ) {
+        this.pharmacyRepository = pharmacyRepository;
+        this.zone = ZoneId.of(zone);
+    }
+
+    // Loaded before the read models that ask for open status during their own startup build
+    @Order(0)
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        reload();
+    }
+
+    @Override
+    public synchronized void reload() {
+        schedules.clear();
+        for (PharmacyHoursRow r : pharmacyRepository.findAllOpeningHours()) {
+            WeeklySchedule s = WeeklySchedule.parseOrClosed(r.getOpeningHoursJson());
+            if (!s.isAlwaysClosed()) schedules.put(r.getPharmacyId(), s);
+        }
+    }
+
+    // Before the projection (@Order(10)) re-renders the pharmacy
+    @Order(5)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfileChanged(PharmacyProfileChangedEvent e) {
+        WeeklySchedule s = pharmacyRepository.findById(e.getPharmacyId())
+                .map(p -> WeeklySchedule.parseOrClosed(p.getOpeningHoursJson()))
+                .orElse(WeeklySchedule.CLOSED);
+        if (s.isAlwaysClosed()) {
+            schedules.remove(e.getPharmacyId());
+        } else {
+            schedules.put(e.getPharmacyId(), s);
+        }
+    }
+
+    @Override
+    public Boolean isOpenNow(Integer pharmacyId) {
+        return isOpenAt(pharmacyId, now());
+    }
+
+    @Override
+    public Boolean isOpenAt(Integer pharmacyId, LocalDateTime localTime) {
+        return isOpenAt(pharmacyId, WeeklySchedule.minuteOfWeek(localTime));
+    }
+
+    @Override
+    public Boolean isOpenAt(Integer pharmacyId, int minuteOfWeek) {
+        WeeklySchedule s = pharmacyId == null ? null : schedules.get(pharmacyId);
+        return s == null ? null : s.isOpenAt(minuteOfWeek);
+    }
+
+    @Override
+    public LocalDateTime now() {
+        return LocalDateTime.now(zone);
+    }
+
+    @Override
+    public Predicate<Integer> openFilter(boolean openNow, LocalDateTime openAt) {
+        if (!openNow && openAt == null) return null;
+        int minute = WeeklySchedule.minuteOfWeek(openAt != null ? openAt : now());
+        return id -> !Boolean.FALSE.equals(isOpenAt(id, minute));
+    }
+}
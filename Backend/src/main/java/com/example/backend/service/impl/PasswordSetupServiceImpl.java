@@ -6,6 +6,7 @@ import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -14,6 +15,7 @@ import com.example.backend.entity.PasswordSetupToken;
 import com.example.backend.entity.Pharmacy;
 import com.example.backend.entity.PharmacyLocation;
 import com.example.backend.entity.User;
+import com.example.backend.event.PharmacyLocationChangedEvent;
 import com.example.backend.repository.PasswordSetupTokenRepository;
 import com.example.backend.repository.PharmacyLocationRepository;
 import com.example.backend.repository.PharmacyRepository;
@@ -27,18 +29,21 @@ public class PasswordSetupServiceImpl implements PasswordSetupService {
     private final UserRepository userRepository;
     private final PharmacyRepository pharmacyRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     public PasswordSetupServiceImpl(
             PharmacyLocationRepository pharmacyLocationRepository, PasswordSetupTokenRepository tokenRepository,
             UserRepository userRepository,
             PharmacyRepository pharmacyRepository,   // ✅ NEW
-            PasswordEncoder passwordEncoder
+            PasswordEncoder passwordEncoder,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.pharmacyLocationRepository = pharmacyLocationRepository;
         this.tokenRepository = tokenRepository;
         this.userRepository = userRepository;
         this.pharmacyRepository = pharmacyRepository; // ✅ NEW
         this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -117,6 +122,7 @@ public class PasswordSetupServiceImpl implements PasswordSetupService {
         loc.setLatitude(req.getLatitude());
         loc.setLongitude(req.getLongitude());
         pharmacyLocationRepository.save(loc);
+        eventPublisher.publishEvent(PharmacyLocationChangedEvent.of(pharmacy, loc));
 
 
         // Mark token used
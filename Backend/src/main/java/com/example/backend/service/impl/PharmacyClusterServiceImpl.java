@@ -0,0 +1,197 @@
+package com.example.backend.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.backend.dto.projection.PharmacyGeoPoint;
+import com.example.backend.dto.response.PharmacyClusterResponse;
+import com.example.backend.event.InventoryChangedEvent;
+import com.example.backend.event.PharmacyLocationChangedEvent;
+import com.example.backend.repository.PharmacyLocationRepository;
+import com.example.backend.service.MedicineAvailabilityIndexService;
+import com.example.backend.service.PharmacyClusterService;
+import com.example.backend.util.GeoUtils;
+
+/**
+ * Pre-aggregated grid per zoom level: level z uses cells of 360 / 2^(z+2) degrees (about 4x4 cells per map tile).
+ * Every pharmacy is counted once per level, so a clusters request only reads the cells in view and the
+ * answer size is bounded by the viewport, not by the number of pharmacies.
+ * Maintained incrementally from location and inventory events; a full reload builds a new set of levels
+ * off to the side and swaps it in, so readers never see a half-built grid.
+ */
+@Service
+public class PharmacyClusterServiceImpl implements PharmacyClusterService {
+
+    private static final int MAX_ZOOM = 16;
+    private static final int CELLS_PER_TILE_LOG2 = 2;
+
+    private final PharmacyLocationRepository locationRepository;
+    private final MedicineAvailabilityIndexService availabilityIndexService;
+
+    // members + per-zoom cells of one index generation
+    private static final class Grid {
+        final Map<Integer, Member> members = new ConcurrentHashMap<>();
+        @SuppressWarnings("unchecked")
+        final Map<Long, Cell>[] levels = new Map[MAX_ZOOM + 1];
+
+        Grid() {
+            for (int z = 0; z <= MAX_ZOOM; z++) {
+                levels[z] = new ConcurrentHashMap<>();
+            }
+        }
+    }
+
+    private volatile Grid grid = new Grid();
+
+    public PharmacyClusterServiceImpl(
+            PharmacyLocationRepository locationRepository,
+            MedicineAvailabilityIndexService availabilityIndexService
+    ) {
+        this.locationRepository = locationRepository;
+        this.availabilityIndexService = availabilityIndexService;
+    }
+
+    private record Member(double latitude, double longitude, boolean inStock) {
+    }
+
+    // Immutable: replaced on every change so readers never see a half-updated cell.
+    // sumIds == the pharmacy id when count == 1.
+    private record Cell(int count, int inStock, double sumLat, double sumLng, long sumIds) {
+
+        Cell plus(int id, Member m, int sign) {
+            return new Cell(
+                    count + sign,
+                    inStock + (m.inStock() ? sign : 0),
+                    sumLat + sign * m.latitude(),
+                    sumLng + sign * m.longitude(),
+                    sumIds + (long) sign * id);
+        }
+    }
+
+    // After the availability index has loaded, since in-stock flags come from it
+    @Order(20)
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        reload();
+    }
+
+    @Override
+    public synchronized void reload() {
+        Grid fresh = new Grid();
+        for (PharmacyGeoPoint p : locationRepository.findAllGeoPoints()) {
+            add(fresh, p.getPharmacyId(), new Member(p.getLatitude(), p.getLongitude(),
+                    availabilityIndexService.inStockCount(p.getPharmacyId()) > 0));
+        }
+        grid = fresh;
+    }
+
+    // Before DataVersionService (LOWEST_PRECEDENCE) bumps the ETag that /clusters is served under
+    @Order(20)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onLocationChanged(PharmacyLocationChangedEvent e) {
+        Grid g = grid;
+        Member old = g.members.get(e.getPharmacyId());
+        if (old != null) remove(g, e.getPharmacyId(), old);
+        if (GeoUtils.isValid(e.getLatitude(), e.getLongitude())) {
+            add(g, e.getPharmacyId(), new Member(e.getLatitude(), e.getLongitude(),
+                    availabilityIndexService.inStockCount(e.getPharmacyId()) > 0));
+        }
+    }
+
+    // After the availability index (@Order(0)) has applied the change
+    @Order(20)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onInventoryChanged(InventoryChangedEvent e) {
+        Grid g = grid;
+        Member old = g.members.get(e.getPharmacyId());
+        if (old == null) return;
+        boolean inStock = availabilityIndexService.inStockCount(e.getPharmacyId()) > 0;
+        if (inStock == old.inStock()) return;
+        remove(g, e.getPharmacyId(), old);
+        add(g, e.getPharmacyId(), new Member(old.latitude(), old.longitude(), inStock));
+    }
+
+    @Override
+    public List<PharmacyClusterResponse> clusters(double minLng, double minLat, double maxLng, double maxLat, int zoom) {
+        if (!GeoUtils.isValid(minLat, minLng) || !GeoUtils.isValid(maxLat, maxLng) || minLat > maxLat || minLng > maxLng) {
+            throw new RuntimeException("Invalid bbox, expected minLng,minLat,maxLng,maxLat");
+        }
+        int z = Math.max(0, Math.min(zoom, MAX_ZOOM));
+        Map<Long, Cell> level = grid.levels[z];
+        double size = cellDeg(z);
+
+        int minX = cell(minLng, size), maxX = cell(maxLng, size);
+        int minY = cell(minLat, size), maxY = cell(maxLat, size);
+        long cellCount = (long) (maxX - minX + 1) * (maxY - minY + 1);
+
+        List<PharmacyClusterResponse> result = new ArrayList<>();
+        if (cellCount > level.size()) {
+            // viewport covers more cells than are occupied: scan the occupied ones
+            for (Map.Entry<Long, Cell> e : level.entrySet()) {
+                int x = (int) (e.getKey() >> 32), y = (int) (long) e.getKey();
+                if (x >= minX && x <= maxX && y >= minY && y <= maxY) result.add(toResponse(e.getValue()));
+            }
+        } else {
+            for (int x = minX; x <= maxX; x++) {
+                for (int y = minY; y <= maxY; y++) {
+                    Cell c = level.get(key(x, y));
+                    if (c != null) result.add(toResponse(c));
+                }
+            }
+        }
+        return result;
+    }
+
+    // ===== Helpers =====
+
+    private static void add(Grid g, int pharmacyId, Member m) {
+        g.members.put(pharmacyId, m);
+        apply(g, pharmacyId, m, 1);
+    }
+
+    private static void remove(Grid g, int pharmacyId, Member m) {
+        g.members.remove(pharmacyId);
+        apply(g, pharmacyId, m, -1);
+    }
+
+    private static void apply(Grid g, int pharmacyId, Member m, int sign) {
+        for (int z = 0; z <= MAX_ZOOM; z++) {
+            double size = cellDeg(z);
+            long key = key(cell(m.longitude(), size), cell(m.latitude(), size));
+            g.levels[z].compute(key, (k, c) -> {
+                Cell next = (c == null ? new Cell(0, 0, 0, 0, 0) : c).plus(pharmacyId, m, sign);
+                return next.count() <= 0 ? null : next;
+            });
+        }
+    }
+
+    private PharmacyClusterResponse toResponse(Cell c) {
+        return new PharmacyClusterResponse(
+                Math.round(c.sumLat() / c.count() * 1e6) / 1e6,
+                Math.round(c.sumLng() / c.count() * 1e6) / 1e6,
+                c.count(),
+                c.inStock(),
+                c.count() == 1 ? (int) c.sumIds() : null
+        );
+    }
+
+    private static double cellDeg(int zoom) {
+        return 360.0 / (1L << (zoom + CELLS_PER_TILE_LOG2));
+    }
+
+    private static int cell(double degrees, double size) {
+        return (int) Math.floor(degrees / size);
+    }
+
+    private static long key(int x, int y) {
+        return ((long) x << 32) | (y & 0xffffffffL);
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.backend.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.backend.dto.projection.PharmacyGeoPoint;
+import com.example.backend.dto.response.NearbyPharmacyResponse;
+import com.example.backend.event.PharmacyLocationChangedEvent;
+import com.example.backend.repository.PharmacyLocationRepository;
+import com.example.backend.service.PharmacyGeoIndexService;
+import com.example.backend.util.GeoUtils;
+
+/**
+ * Uniform lat/lng grid (~5.5 km cells). A radius query only visits the cells
+ * overlapping the search box, so lookups never touch the database.
+ * Reads are lock-free (concurrent maps); writes are serialized. A full reload builds a new grid off to
+ * the side and swaps it in, so readers never see a half-filled index.
+ */
+@Service
+public class PharmacyGeoIndexServiceImpl implements PharmacyGeoIndexService {
+
+    private static final double CELL_DEG = 0.05;
+    private static final double MAX_RADIUS_KM = 200;
+    private static final int MAX_K = 100;
+
+    private final PharmacyLocationRepository locationRepository;
+
+    // both maps of one index generation
+    private static final class Grid {
+        final Map<Integer, PharmacyGeoPoint> byPharmacy = new ConcurrentHashMap<>();
+        final Map<Long, Map<Integer, PharmacyGeoPoint>> cells = new ConcurrentHashMap<>();
+    }
+
+    private volatile Grid grid = new Grid();
+
+    public PharmacyGeoIndexServiceImpl(PharmacyLocationRepository locationRepository) {
+        this.locationRepository = locationRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        reload();
+    }
+
+    @Override
+    public synchronized void reload() {
+        Grid fresh = new Grid();
+        for (PharmacyGeoPoint p : locationRepository.findAllGeoPoints()) {
+            put(fresh, p);
+        }
+        grid = fresh;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onLocationChanged(PharmacyLocationChangedEvent e) {
+        Grid g = grid;
+        remove(g, e.getPharmacyId());
+        if (GeoUtils.isValid(e.getLatitude(), e.getLongitude())) {
+            put(g, new PharmacyGeoPoint(e.getPharmacyId(), e.getPharmacyName(), e.getLatitude(), e.getLongitude()));
+        }
+    }
+
+    @Override
+    public PharmacyGeoPoint locate(Integer pharmacyId) {
+        return pharmacyId == null ? null : grid.byPharmacy.get(pharmacyId);
+    }
+
+    @Override
+    public List<NearbyPharmacyResponse> nearest(double latitude, double longitude, double radiusKm, int k,
+                                                Predicate<Integer> filter) {
+        if (!GeoUtils.isValid(latitude, longitude)) {
+            throw new RuntimeException("Invalid latitude/longitude");
+        }
+        double radius = Math.max(0.1, Math.min(radiusKm, MAX_RADIUS_KM));
+        int limit = Math.max(1, Math.min(k, MAX_K));
+
+        double dLat = radius / GeoUtils.KM_PER_DEGREE_LAT;
+        double dLng = radius / (GeoUtils.KM_PER_DEGREE_LAT * Math.max(0.01, Math.cos(Math.toRadians(latitude))));
+
+        int minLatCell = cell(latitude - dLat), maxLatCell = cell(latitude + dLat);
+        int minLngCell = cell(longitude - dLng), maxLngCell = cell(longitude + dLng);
+        long cellCount = (long) (maxLatCell - minLatCell + 1) * (maxLngCell - minLngCell + 1);
+
+        // max-heap on distance keeps the k best seen so far
+        PriorityQueue<NearbyPharmacyResponse> best = new PriorityQueue<>(
+                Comparator.comparingDouble(NearbyPharmacyResponse::getDistanceKm).reversed());
+
+        Grid g = grid;
+        if (cellCount > g.byPharmacy.size()) {
+            // huge box over a small dataset: a flat scan is cheaper than probing empty cells
+            collect(g.byPharmacy.values(), latitude, longitude, radius, limit, filter, best);
+        } else {
+            for (int la = minLatCell; la <= maxLatCell; la++) {
+                for (int ln = minLngCell; ln <= maxLngCell; ln++) {
+                    Map<Integer, PharmacyGeoPoint> cell = g.cells.get(key(la, ln));
+                    if (cell != null) collect(cell.values(), latitude, longitude, radius, limit, filter, best);
+                }
+            }
+        }
+
+        List<NearbyPharmacyResponse> result = new ArrayList<>(best);
+        result.sort(Comparator.comparingDouble(NearbyPharmacyResponse::getDistanceKm));
+        return result;
+    }
+
+    // ===== Helpers =====
+
+    private void collect(Collection<PharmacyGeoPoint> points, double lat, double lng, double radius, int limit,
+                         Predicate<Integer> filter, PriorityQueue<NearbyPharmacyResponse> best) {
+        for (PharmacyGeoPoint p : points) {
+            if (filter != null && !filter.test(p.getPharmacyId())) continue;
+            double d = GeoUtils.haversineKm(lat, lng, p.getLatitude(), p.getLongitude());
+            if (d > radius) continue;
+            if (best.size() < limit) {
+                best.add(toResponse(p, d));
+            } else if (d < best.peek().getDistanceKm()) {
+                best.poll();
+                best.add(toResponse(p, d));
+            }
+        }
+    }
+
+    private NearbyPharmacyResponse toResponse(PharmacyGeoPoint p, double distanceKm) {
+        return new NearbyPharmacyResponse(
+                p.getPharmacyId(),
+                p.getName(),
+                p.getLatitude(),
+                p.getLongitude(),
+                Math.round(distanceKm * 1000) / 1000.0
+        );
+    }
+
+    private static void put(Grid g, PharmacyGeoPoint p) {
+        g.byPharmacy.put(p.getPharmacyId(), p);
+        g.cells.computeIfAbsent(key(cell(p.getLatitude()), cell(p.getLongitude())), x -> new ConcurrentHashMap<>())
+                .put(p.getPharmacyId(), p);
+    }
+
+    private static void remove(Grid g, Integer pharmacyId) {
+        PharmacyGeoPoint old = g.byPharmacy.remove(pharmacyId);
+        if (old == null) return;
+        long key = key(cell(old.getLatitude()), cell(old.getLongitude()));
+        Map<Integer, PharmacyGeoPoint> cell = g.cells.get(key);
+        if (cell != null) {
+            cell.remove(pharmacyId);
+            if (cell.isEmpty()) g.cells.remove(key);
+        }
+    }
+
+    private static int cell(double degrees) {
+        return (int) Math.floor(degrees / CELL_DEG);
+    }
+
+    private static long key(int latCell, int lngCell) {
+        return ((long) latCell << 32) | (lngCell & 0xffffffffL);
+    }
+}
@@ -5,9 +5,12 @@ import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.Base64;
+import java.util.List;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -15,6 +18,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import com.example.backend.dto.request.PharmacyRegisterRequest;
+import com.example.backend.dto.response.KeysetPageResponse;
 import com.example.backend.dto.response.PharmacyApproveResponse;
 import com.example.backend.dto.response.PharmacyRowResponse;
 import com.example.backend.entity.PasswordSetupToken;
@@ -25,6 +29,7 @@ import com.example.backend.repository.PasswordSetupTokenRepository;
 import com.example.backend.repository.PharmacyRepository;
 import com.example.backend.repository.UserRepository;
 import com.example.backend.service.PharmacyService;
+import com.example.backend.util.CursorCodec;
 
 @Service
 public class PharmacyServiceImpl implements PharmacyService {
@@ -224,8 +229,51 @@ public class PharmacyServiceImpl implements PharmacyService {
         return result.map(this::toRowResponse);
     }
 
+    // Cursor = (createdAt, id) of the last row; each page is one index range scan, however deep
+    @Override
+    public KeysetPageResponse<PharmacyRowResponse> seekPharmaciesForAdmin(String status, String q, String cursor,
+                                                                          int size, boolean withTotal) {
+        int pageSize = Math.max(1, Math.min(size, 100));
+        PharmacyStatus st = (status == null || status.equalsIgnoreCase("ALL"))
+                ? null
+                : PharmacyStatus.valueOf(status.toUpperCase());
+        String text = (q == null || q.isBlank()) ? null : q.trim();
+
+        boolean first = cursor == null || cursor.isBlank();
+        LocalDateTime afterCreatedAt = null;
+        Integer afterId = null;
+        if (!first) {
+            String[] keys = CursorCodec.decode(cursor, 2);
+            afterCreatedAt = keys[0].isEmpty() ? null : parseCursorTime(keys[0]);
+            afterId = CursorCodec.decodeInt(keys[1]);
+            if (afterId == null) throw new RuntimeException("Invalid cursor");
+        }
+
+        List<Pharmacy> rows = pharmacyRepository.findAdminPageAfter(
+                st, text, first, afterCreatedAt, afterId, Limit.of(pageSize + 1));
+
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) rows = rows.subList(0, pageSize);
+
+        String nextCursor = null;
+        if (hasMore) {
+            Pharmacy last = rows.get(rows.size() - 1);
+            nextCursor = CursorCodec.encode(last.getCreatedAt(), last.getId());
+        }
+        Long total = withTotal ? pharmacyRepository.countForAdmin(st, text) : null;
+        return new KeysetPageResponse<>(rows.stream().map(this::toRowResponse).toList(), nextCursor, hasMore, total);
+    }
+
     // ===== Helpers =====
 
+    private static LocalDateTime parseCursorTime(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+
     private PharmacyRowResponse toRowResponse(Pharmacy p) {
         return new PharmacyRowResponse(
                 p.getId(),
@@ -0,0 +1,129 @@
+package com.example.backend.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.backend.dto.response.PublicPharmacyWithInventoryResponse;
+import com.example.backend.event.CatalogChangedEvent;
+import com.example.backend.event.InventoryChangedEvent;
+import com.example.backend.event.OpeningStatusChangedEvent;
+import com.example.backend.event.PharmacyLocationChangedEvent;
+import com.example.backend.event.PharmacyProfileChangedEvent;
+import com.example.backend.repository.PharmacyInventoryRepository;
+import com.example.backend.service.OpeningHoursService;
+import com.example.backend.service.PublicAvailabilityProjectionService;
+import com.example.backend.util.WeeklySchedule;
+
+/**
+ * In-memory projection of the public listing.
+ * Writes re-project only the affected pharmacy (one query) and publish a new immutable list,
+ * so public reads are a single volatile read with no queries and no entity hydration.
+ */
+@Service
+public class PublicAvailabilityProjectionServiceImpl implements PublicAvailabilityProjectionService {
+
+    private final PharmacyInventoryRepository inventoryRepository;
+    private final OpeningHoursService openingHoursService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final NavigableMap<Integer, PublicPharmacyWithInventoryResponse> byPharmacy = new ConcurrentSkipListMap<>();
+    private volatile List<PublicPharmacyWithInventoryResponse> view = List.of();
+
+    public PublicAvailabilityProjectionServiceImpl(
+            PharmacyInventoryRepository inventoryRepository,
+            OpeningHoursService openingHoursService,
+            ApplicationEventPublisher eventPublisher
+    ) {
+        this.inventoryRepository = inventoryRepository;
+        this.openingHoursService = openingHoursService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public List<PublicPharmacyWithInventoryResponse> snapshot() {
+        return view;
+    }
+
+    @Override
+    public synchronized int rebuild() {
+        byPharmacy.clear();
+        int minute = WeeklySchedule.minuteOfWeek(openingHoursService.now());
+        for (PublicPharmacyWithInventoryResponse p :
+                PublicPharmacyWithInventoryResponse.fromRows(inventoryRepository.findPublicAvailabilityRows())) {
+            p.setIsOpen(openingHoursService.isOpenAt(p.getId(), minute));
+            byPharmacy.put(p.getId(), p);
+        }
+        view = List.copyOf(byPharmacy.values());
+        return view.size();
+    }
+
+    @Override
+    public synchronized void refreshPharmacy(Integer pharmacyId) {
+        List<PublicPharmacyWithInventoryResponse> fresh = PublicPharmacyWithInventoryResponse.fromRows(
+                inventoryRepository.findPublicAvailabilityRowsForPharmacies(List.of(pharmacyId), false, null));
+        if (fresh.isEmpty()) {
+            byPharmacy.remove(pharmacyId);
+        } else {
+            PublicPharmacyWithInventoryResponse p = fresh.get(0);
+            p.setIsOpen(openingHoursService.isOpenNow(pharmacyId));
+            byPharmacy.put(pharmacyId, p);
+        }
+        view = List.copyOf(byPharmacy.values());
+    }
+
+    // Opening hours are minute-granular: re-evaluate isOpen every minute and swap in copies of the
+    // pharmacies that flipped (published entries are never mutated), then let the ETag move on
+    @Scheduled(cron = "1 * * * * *")
+    public void refreshOpenStatus() {
+        List<Integer> flipped = new ArrayList<>();
+        synchronized (this) {
+            int minute = WeeklySchedule.minuteOfWeek(openingHoursService.now());
+            for (Map.Entry<Integer, PublicPharmacyWithInventoryResponse> e : byPharmacy.entrySet()) {
+                Boolean open = openingHoursService.isOpenAt(e.getKey(), minute);
+                if (!Objects.equals(open, e.getValue().getIsOpen())) {
+                    byPharmacy.put(e.getKey(), e.getValue().toBuilder().isOpen(open).build());
+                    flipped.add(e.getKey());
+                }
+            }
+            if (flipped.isEmpty()) return;
+            view = List.copyOf(byPharmacy.values());
+        }
+        eventPublisher.publishEvent(new OpeningStatusChangedEvent(flipped));
+    }
+
+    // Listeners run before DataVersionService bumps the ETag version, so a new ETag never serves old data
+    @Order(10)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInventoryChanged(InventoryChangedEvent e) {
+        refreshPharmacy(e.getPharmacyId());
+    }
+
+    @Order(10)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLocationChanged(PharmacyLocationChangedEvent e) {
+        if (byPharmacy.containsKey(e.getPharmacyId())) refreshPharmacy(e.getPharmacyId());
+    }
+
+    @Order(10)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfileChanged(PharmacyProfileChangedEvent e) {
+        if (byPharmacy.containsKey(e.getPharmacyId())) refreshPharmacy(e.getPharmacyId());
+    }
+
+    // Medicine names are denormalized into every inventory item; catalog edits are rare, so rebuild
+    @Order(10)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent e) {
+        rebuild();
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.backend.service.impl;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.backend.dto.projection.PublicAvailabilityRow;
+import com.example.backend.dto.response.PublicPharmacyPageResponse;
+import com.example.backend.dto.response.PublicPharmacyWithInventoryResponse;
+import com.example.backend.repository.PharmacyInventoryRepository;
+import com.example.backend.repository.PharmacyRepository;
+import com.example.backend.service.OpeningHoursService;
+import com.example.backend.service.PublicAvailabilityProjectionService;
+import com.example.backend.service.PublicAvailabilityService;
+import com.example.backend.util.CursorCodec;
+import com.example.backend.util.JsonStreams;
+import com.example.backend.util.WeeklySchedule;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectMapper;
+
+@Service
+@Transactional(readOnly = true)
+public class PublicAvailabilityServiceImpl implements PublicAvailabilityService {
+
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private final PharmacyInventoryRepository inventoryRepository;
+    private final PharmacyRepository pharmacyRepository;
+    private final PublicAvailabilityProjectionService projectionService;
+    private final OpeningHoursService openingHoursService;
+    private final ObjectMapper objectMapper;
+
+    public PublicAvailabilityServiceImpl(
+            PharmacyInventoryRepository inventoryRepository,
+            PharmacyRepository pharmacyRepository,
+            PublicAvailabilityProjectionService projectionService,
+            OpeningHoursService openingHoursService,
+            ObjectMapper objectMapper
+    ) {
+        this.inventoryRepository = inventoryRepository;
+        this.pharmacyRepository = pharmacyRepository;
+        this.projectionService = projectionService;
+        this.openingHoursService = openingHoursService;
+        this.objectMapper = objectMapper;
+    }
+
+    // Served from the incrementally maintained read model (no query per request)
+    @Override
+    public List<PublicPharmacyWithInventoryResponse> getPharmaciesWithInventory() {
+        return projectionService.snapshot();
+    }
+
+    // Keyset page: 1 query for the matching pharmacy ids (seek on id, no OFFSET / count), 1 query for their rows
+    // (only the requested medicine's rows when medicineId is set).
+    // The open-hours filter runs on the cached schedules; when it drops ids, further id batches are scanned.
+    @Override
+    public PublicPharmacyPageResponse getPharmaciesWithInventoryPage(
+            String cursor, int size,
+            boolean inStockOnly, String entityType, Integer medicineId,
+            Double minLat, Double minLng, Double maxLat, Double maxLng,
+            boolean openNow, LocalDateTime openAt
+    ) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Integer afterId = 0;
+        if (cursor != null && !cursor.isBlank()) {
+            afterId = CursorCodec.decodeInt(CursorCodec.decode(cursor, 1)[0]);
+        }
+        String type = (entityType == null || entityType.isBlank()) ? null : entityType.trim();
+        Predicate<Integer> open = openingHoursService.openFilter(openNow, openAt);
+
+        // collect one extra id to know whether another page exists
+        List<Integer> ids = new ArrayList<>(pageSize + 1);
+        while (ids.size() <= pageSize) {
+            List<Integer> batch = pharmacyRepository.findPublicPageIds(
+                    afterId, inStockOnly, type, medicineId, minLat, minLng, maxLat, maxLng, Limit.of(pageSize + 1));
+            for (Integer id : batch) {
+                if (open == null || open.test(id)) ids.add(id);
+                if (ids.size() > pageSize) break;
+            }
+            if (batch.size() <= pageSize) break;
+            afterId = batch.get(batch.size() - 1);
+        }
+
+        boolean hasMore = ids.size() > pageSize;
+        if (hasMore) ids = ids.subList(0, pageSize);
+        if (ids.isEmpty()) return new PublicPharmacyPageResponse(List.of(), null, false);
+
+        List<PublicPharmacyWithInventoryResponse> items = PublicPharmacyWithInventoryResponse.fromRows(
+                inventoryRepository.findPublicAvailabilityRowsForPharmacies(ids, inStockOnly, medicineId));
+        int minute = WeeklySchedule.minuteOfWeek(openingHoursService.now());
+        for (PublicPharmacyWithInventoryResponse item : items) {
+            item.setIsOpen(openingHoursService.isOpenAt(item.getId(), minute));
+        }
+
+        String nextCursor = hasMore ? CursorCodec.encode(ids.get(ids.size() - 1)) : null;
+        return new PublicPharmacyPageResponse(items, nextCursor, hasMore);
+    }
+
+    // Rows arrive ordered by pharmacy id, so each pharmacy is written as soon as the next one starts:
+    // heap holds one pharmacy at a time, whatever the dataset size
+    @Override
+    public void streamPharmaciesWithInventory(OutputStream out) {
+        try (Stream<PublicAvailabilityRow> rows = inventoryRepository.streamPublicAvailabilityRows();
+             JsonGenerator gen = JsonStreams.generator(objectMapper, out)) {
+            gen.writeStartObject();
+            gen.writeName("success");
+            gen.writeBoolean(true);
+            gen.writeName("message");
+            gen.writeString("OK");
+            gen.writeName("data");
+            gen.writeStartArray();
+
+            int minute = WeeklySchedule.minuteOfWeek(openingHoursService.now());
+            PublicPharmacyWithInventoryResponse current = null;
+            int written = 0;
+            for (PublicAvailabilityRow row : (Iterable<PublicAvailabilityRow>) rows::iterator) {
+                if (current == null || !current.getId().equals(row.getPharmacyId())) {
+                    if (current != null) {
+                        gen.writePOJO(current);
+                        if (++written % JsonStreams.FLUSH_EVERY == 0) gen.flush();
+                    }
+                    current = PublicPharmacyWithInventoryResponse.header(row);
+                    current.setIsOpen(openingHoursService.isOpenAt(current.getId(), minute));
+                }
+                current.getInventory().add(PublicPharmacyWithInventoryResponse.InventoryItem.from(row));
+            }
+            if (current != null) gen.writePOJO(current);
+
+            gen.writeEndArray();
+            gen.writeEndObject();
+        }
+    }
+}
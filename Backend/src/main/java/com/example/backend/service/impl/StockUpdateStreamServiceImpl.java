@@ -0,0 +1,209 @@
+package com.example.backend.service.impl;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.backend.dto.projection.PharmacyGeoPoint;
+import com.example.backend.dto.response.StockUpdateEvent;
+import com.example.backend.event.InventoryChangedEvent;
+import com.example.backend.service.PharmacyGeoIndexService;
+import com.example.backend.service.StockUpdateStreamService;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * SSE fan-out for inventory changes.
+ *
+ * Idle subscribers cost only an SseEmitter and an empty queue (no thread).
+ * The publishing thread only offers into bounded per-subscriber queues; a virtual
+ * thread drains a queue while it has items. A subscriber whose queue overflows is
+ * disconnected (the browser reconnects and can catch up via /availability/changes).
+ */
+@Service
+public class StockUpdateStreamServiceImpl implements StockUpdateStreamService {
+
+    private static final Object HEARTBEAT = new Object();
+
+    private final PharmacyGeoIndexService geoIndexService;
+
+    private final Map<Long, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Value("${app.availability.stream.queue-capacity:256}")
+    private int queueCapacity;
+
+    @Value("${app.availability.stream.max-subscribers:10000}")
+    private int maxSubscribers;
+
+    @Value("${app.availability.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    public StockUpdateStreamServiceImpl(PharmacyGeoIndexService geoIndexService) {
+        this.geoIndexService = geoIndexService;
+    }
+
+    @Override
+    public SseEmitter subscribe(Integer medicineId, Double minLat, Double minLng, Double maxLat, Double maxLng) {
+        boolean hasBox = minLat != null || minLng != null || maxLat != null || maxLng != null;
+        if (hasBox && (minLat == null || minLng == null || maxLat == null || maxLng == null)) {
+            throw new RuntimeException("minLat, minLng, maxLat and maxLng must be given together");
+        }
+        if (subscribers.size() >= maxSubscribers) {
+            throw new RuntimeException("Too many live subscribers, try again later");
+        }
+
+        long id = nextId.incrementAndGet();
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber s = new Subscriber(id, emitter, medicineId, hasBox, minLat, minLng, maxLat, maxLng,
+                new ArrayBlockingQueue<>(queueCapacity));
+
+        emitter.onCompletion(() -> subscribers.remove(id));
+        emitter.onTimeout(() -> subscribers.remove(id));
+        emitter.onError(ex -> subscribers.remove(id));
+        subscribers.put(id, s);
+
+        // first comment flushes the response headers so the client sees the stream as open
+        enqueue(s, HEARTBEAT);
+        return emitter;
+    }
+
+    @Override
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    // after commit, so pushed values are already visible to readers
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(20)
+    public void onInventoryChanged(InventoryChangedEvent e) {
+        if (subscribers.isEmpty()) return;
+
+        StockUpdateEvent payload = StockUpdateEvent.from(e);
+        PharmacyGeoPoint point = null;
+        boolean located = false;
+
+        for (Subscriber s : subscribers.values()) {
+            if (s.medicineId != null && !s.medicineId.equals(e.getMedicineId())) continue;
+            if (s.hasBox) {
+                if (!located) {
+                    point = geoIndexService.locate(e.getPharmacyId());
+                    located = true;
+                }
+                if (point == null || !s.contains(point.getLatitude(), point.getLongitude())) continue;
+            }
+            enqueue(s, payload);
+        }
+    }
+
+    // keeps proxies from closing idle connections and detects dead clients
+    @Scheduled(fixedDelayString = "${app.availability.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        for (Subscriber s : subscribers.values()) {
+            enqueue(s, HEARTBEAT);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Subscriber s : subscribers.values()) {
+            s.emitter.complete();
+        }
+        senders.shutdownNow();
+    }
+
+    // ===== Fan-out =====
+
+    private void enqueue(Subscriber s, Object item) {
+        if (s.closed.get()) return;
+        if (!s.queue.offer(item)) {
+            // slow consumer: drop it rather than buffer without bound or block the writer
+            close(s);
+            return;
+        }
+        if (s.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(s));
+        }
+    }
+
+    private void drain(Subscriber s) {
+        while (true) {
+            Object item;
+            while ((item = s.queue.poll()) != null) {
+                if (!send(s, item)) return;
+            }
+            s.draining.set(false);
+            // an item may have been offered after the last poll but before the flag was cleared
+            if (s.queue.isEmpty() || !s.draining.compareAndSet(false, true)) return;
+        }
+    }
+
+    private boolean send(Subscriber s, Object item) {
+        try {
+            if (item == HEARTBEAT) {
+                s.emitter.send(SseEmitter.event().comment("ping"));
+            } else {
+                s.emitter.send(SseEmitter.event().name("stock").data(item, MediaType.APPLICATION_JSON));
+            }
+            return true;
+        } catch (IOException | IllegalStateException ex) {
+            close(s);
+            return false;
+        }
+    }
+
+    private void close(Subscriber s) {
+        if (s.closed.compareAndSet(false, true)) {
+            subscribers.remove(s.id);
+            s.queue.clear();
+            try {
+                s.emitter.complete();
+            } catch (Exception ignored) {
+                // already completed by the container
+            }
+        }
+    }
+
+    private static final class Subscriber {
+        final long id;
+        final SseEmitter emitter;
+        final Integer medicineId;
+        final boolean hasBox;
+        final double minLat, minLng, maxLat, maxLng;
+        final BlockingQueue<Object> queue;
+        final AtomicBoolean draining = new AtomicBoolean();
+        final AtomicBoolean closed = new AtomicBoolean();
+
+        Subscriber(long id, SseEmitter emitter, Integer medicineId, boolean hasBox,
+                   Double minLat, Double minLng, Double maxLat, Double maxLng, BlockingQueue<Object> queue) {
+            this.id = id;
+            this.emitter = emitter;
+            this.medicineId = medicineId;
+            this.hasBox = hasBox;
+            this.minLat = hasBox ? minLat : 0;
+            this.minLng = hasBox ? minLng : 0;
+            this.maxLat = hasBox ? maxLat : 0;
+            this.maxLng = hasBox ? maxLng : 0;
+            this.queue = queue;
+        }
+
+        boolean contains(double lat, double lng) {
+            return lat >= minLat && lat <= maxLat && lng >= minLng && lng <= maxLng;
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package com.example.backend.util;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.RandomAccess;
+
+import com.example.backend.bootstrap.CatalogIngestPipeline;
+import com.example.backend.dto.response.MedicineMasterDto;
+import com.example.backend.entity.CatalogStatus;
+
+/**
+ * Immutable column store for the medicine catalog.
+ *
+ * Rows are sorted by id. Names and regNo are unique per row and kept as plain String columns;
+ * manufacturer, country and dosage have only a few hundred distinct values, so they are
+ * dictionary-encoded into int columns and status into a byte column.
+ *
+ * Nothing but the columns stays resident: get(), findById(), findByRegNo() and the asList() view decode
+ * a short-lived MedicineMasterDto per row read. That is a small young-generation allocation per read,
+ * traded for not keeping one DTO (and its own String copies) per row alive.
+ *
+ * with()/without() copy the columns around the changed row and share the dictionaries unless the row
+ * brings a value they do not know yet, in which case the new catalog gets its own copy: a dictionary is
+ * never modified once a catalog using it has been published. Values whose last row went away stay in
+ * the dictionary until the next full of().
+ */
+public final class CompactCatalog {
+
+    private static final CatalogStatus[] STATUSES = CatalogStatus.values();
+
+    private final int[] ids;
+    private final String[] genericNames;
+    private final String[] brandNames;
+    private final String[] regNos;
+    private final int[] manufacturers;
+    private final int[] countries;
+    private final int[] dosages;
+    private final byte[] statuses;
+
+    private final StringDictionary manufacturerDict;
+    private final StringDictionary countryDict;
+    private final StringDictionary dosageDict;
+
+    // regNo lookup: regNoKey of the non-null regNos sorted, with the row each one belongs to
+    // (set once, before publishing)
+    private String[] sortedRegNos;
+    private int[] regNoRows;
+
+    private final List<MedicineMasterDto> view = new RowView();
+
+    public static final CompactCatalog EMPTY = of(List.of());
+
+    private CompactCatalog(int size) {
+        this(size, new StringDictionary(), new StringDictionary(), new StringDictionary());
+    }
+
+    private CompactCatalog(int size, StringDictionary manufacturerDict, StringDictionary countryDict,
+                           StringDictionary dosageDict) {
+        ids = new int[size];
+        genericNames = new String[size];
+        brandNames = new String[size];
+        regNos = new String[size];
+        manufacturers = new int[size];
+        countries = new int[size];
+        dosages = new int[size];
+        statuses = new byte[size];
+        this.manufacturerDict = manufacturerDict;
+        this.countryDict = countryDict;
+        this.dosageDict = dosageDict;
+    }
+
+    public static CompactCatalog of(Collection<MedicineMasterDto> rows) {
+        List<MedicineMasterDto> sorted = new ArrayList<>(rows);
+        sorted.sort(Comparator.comparing(MedicineMasterDto::getId));
+
+        CompactCatalog c = new CompactCatalog(sorted.size());
+        Integer[] byRegNo = new Integer[sorted.size()];
+        int withRegNo = 0;
+        for (int i = 0; i < sorted.size(); i++) {
+            MedicineMasterDto m = sorted.get(i);
+            c.ids[i] = m.getId();
+            c.genericNames[i] = m.getGenericName();
+            c.brandNames[i] = m.getBrandName();
+            c.regNos[i] = m.getRegNo();
+            c.manufacturers[i] = c.manufacturerDict.encode(m.getManufacturer());
+            c.countries[i] = c.countryDict.encode(m.getCountry());
+            c.dosages[i] = c.dosageDict.encode(m.getDosage());
+            c.statuses[i] = statusCode(m.getStatus());
+            if (m.getRegNo() != null) byRegNo[withRegNo++] = i;
+        }
+
+        Integer[] order = Arrays.copyOf(byRegNo, withRegNo);
+        String[] keys = new String[sorted.size()];
+        for (Integer i : order) keys[i] = CatalogIngestPipeline.regNoKey(c.regNos[i]);
+        Arrays.sort(order, Comparator.comparing(i -> keys[i]));
+        c.sortedRegNos = new String[withRegNo];
+        c.regNoRows = new int[withRegNo];
+        for (int k = 0; k < withRegNo; k++) {
+            c.sortedRegNos[k] = keys[order[k]];
+            c.regNoRows[k] = order[k];
+        }
+        return c;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    // lazy, read-only list of DTO views in id order
+    public List<MedicineMasterDto> asList() {
+        return view;
+    }
+
+    public MedicineMasterDto get(int row) {
+        byte s = statuses[row];
+        return new MedicineMasterDto(
+                ids[row],
+                genericNames[row],
+                brandNames[row],
+                manufacturerDict.decode(manufacturers[row]),
+                countryDict.decode(countries[row]),
+                regNos[row],
+                s < 0 ? null : STATUSES[s].name(),
+                dosageDict.decode(dosages[row])
+        );
+    }
+
+    // null when absent
+    public MedicineMasterDto findById(int id) {
+        int row = Arrays.binarySearch(ids, id);
+        return row < 0 ? null : get(row);
+    }
+
+    // null when absent; case-insensitive, like the unique index on reg_no
+    public MedicineMasterDto findByRegNo(String regNo) {
+        if (regNo == null) return null;
+        int k = Arrays.binarySearch(sortedRegNos, CatalogIngestPipeline.regNoKey(regNo));
+        return k < 0 ? null : get(regNoRows[k]);
+    }
+
+    // copy with one row inserted or replaced (O(n) array copies, no other row is decoded)
+    public CompactCatalog with(MedicineMasterDto medicine) {
+        int n = size();
+        int found = Arrays.binarySearch(ids, medicine.getId());
+        boolean replace = found >= 0;
+        int row = replace ? found : -found - 1;
+
+        CompactCatalog c = new CompactCatalog(replace ? n : n + 1,
+                dictionaryFor(manufacturerDict, medicine.getManufacturer()),
+                dictionaryFor(countryDict, medicine.getCountry()),
+                dictionaryFor(dosageDict, medicine.getDosage()));
+        copyColumnsAround(c, row, replace ? row + 1 : row, row + 1);
+        c.ids[row] = medicine.getId();
+        c.genericNames[row] = medicine.getGenericName();
+        c.brandNames[row] = medicine.getBrandName();
+        c.regNos[row] = medicine.getRegNo();
+        c.manufacturers[row] = c.manufacturerDict.encode(medicine.getManufacturer());
+        c.countries[row] = c.countryDict.encode(medicine.getCountry());
+        c.dosages[row] = c.dosageDict.encode(medicine.getDosage());
+        c.statuses[row] = statusCode(medicine.getStatus());
+        if (replace) {
+            c.indexRegNos(this, row, n, 0, row);
+        } else {
+            c.indexRegNos(this, -1, row, 1, row);
+        }
+        return c;
+    }
+
+    // copy without the given id (this catalog when the id is absent)
+    public CompactCatalog without(int id) {
+        int row = Arrays.binarySearch(ids, id);
+        if (row < 0) return this;
+        CompactCatalog c = new CompactCatalog(size() - 1, manufacturerDict, countryDict, dosageDict);
+        copyColumnsAround(c, row, row + 1, row);
+        c.indexRegNos(this, row, row + 1, -1, -1);
+        return c;
+    }
+
+    // ===== Memory report =====
+
+    public int distinctManufacturers() {
+        return manufacturerDict.size();
+    }
+
+    public int distinctCountries() {
+        return countryDict.size();
+    }
+
+    public int distinctDosages() {
+        return dosageDict.size();
+    }
+
+    public long estimatedHeapBytes() {
+        int n = size();
+        long bytes = MemoryEstimates.align(MemoryEstimates.OBJECT_HEADER + 16L * MemoryEstimates.REFERENCE);
+        bytes += MemoryEstimates.intArray(n) * 4;               // ids + 3 dictionary code columns
+        bytes += MemoryEstimates.byteArray(n);                  // statuses
+        bytes += MemoryEstimates.referenceArray(n) * 3;         // names + regNo
+        bytes += MemoryEstimates.referenceArray(regNoRows.length) + MemoryEstimates.intArray(regNoRows.length);
+        bytes += manufacturerDict.estimatedHeapBytes() + countryDict.estimatedHeapBytes() + dosageDict.estimatedHeapBytes();
+        for (int i = 0; i < n; i++) {
+            bytes += MemoryEstimates.string(genericNames[i]) + MemoryEstimates.string(brandNames[i])
+                    + MemoryEstimates.string(regNos[i]);       // upper-case regNos are their own lookup key
+        }
+        return bytes;
+    }
+
+    /**
+     * The same rows held as a plain List<MedicineMasterDto> loaded from the database:
+     * one DTO per row, each with its own String instances (status names are shared enum constants).
+     */
+    public long estimatedDtoListBytes() {
+        int n = size();
+        long dto = MemoryEstimates.align(MemoryEstimates.OBJECT_HEADER + 8L * MemoryEstimates.REFERENCE);
+        long bytes = MemoryEstimates.arrayList(n) + n * (dto + MemoryEstimates.BOXED_INTEGER);
+        for (int i = 0; i < n; i++) {
+            bytes += MemoryEstimates.string(genericNames[i]) + MemoryEstimates.string(brandNames[i])
+                    + MemoryEstimates.string(regNos[i])
+                    + MemoryEstimates.string(manufacturerDict.decode(manufacturers[i]))
+                    + MemoryEstimates.string(countryDict.decode(countries[i]))
+                    + MemoryEstimates.string(dosageDict.decode(dosages[i]));
+        }
+        return bytes;
+    }
+
+    // ===== Helpers =====
+
+    private static byte statusCode(String status) {
+        return status == null ? -1 : (byte) CatalogStatus.valueOf(status).ordinal();
+    }
+
+    // the published dictionary if it already knows the value, otherwise a private copy the new row may extend
+    private static StringDictionary dictionaryFor(StringDictionary dict, String value) {
+        return value == null || dict.contains(value) ? dict : dict.copy();
+    }
+
+    // rows [0, row) keep their position, rows [srcFrom, size) move to dstFrom
+    private void copyColumnsAround(CompactCatalog dst, int row, int srcFrom, int dstFrom) {
+        int tail = size() - srcFrom;
+        copyAround(ids, dst.ids, row, srcFrom, dstFrom, tail);
+        copyAround(genericNames, dst.genericNames, row, srcFrom, dstFrom, tail);
+        copyAround(brandNames, dst.brandNames, row, srcFrom, dstFrom, tail);
+        copyAround(regNos, dst.regNos, row, srcFrom, dstFrom, tail);
+        copyAround(manufacturers, dst.manufacturers, row, srcFrom, dstFrom, tail);
+        copyAround(countries, dst.countries, row, srcFrom, dstFrom, tail);
+        copyAround(dosages, dst.dosages, row, srcFrom, dstFrom, tail);
+        copyAround(statuses, dst.statuses, row, srcFrom, dstFrom, tail);
+    }
+
+    private static void copyAround(Object src, Object dst, int row, int srcFrom, int dstFrom, int tail) {
+        System.arraycopy(src, 0, dst, 0, row);
+        System.arraycopy(src, srcFrom, dst, dstFrom, tail);
+    }
+
+    /**
+     * regNo lookup derived from src's in one merge pass: the entry of removedRow (-1 = none) is dropped,
+     * rows from shiftFrom on move by shift, and this catalog's regNo at addedRow (-1 = none) is inserted
+     * at its sorted position.
+     */
+    private void indexRegNos(CompactCatalog src, int removedRow, int shiftFrom, int shift, int addedRow) {
+        String added = addedRow < 0 || regNos[addedRow] == null ? null : CatalogIngestPipeline.regNoKey(regNos[addedRow]);
+        String[] keys = new String[src.sortedRegNos.length + 1];
+        int[] rows = new int[keys.length];
+        int k = 0;
+        for (int i = 0; i < src.sortedRegNos.length; i++) {
+            int r = src.regNoRows[i];
+            if (r == removedRow) continue;
+            if (added != null && added.compareTo(src.sortedRegNos[i]) < 0) {
+                keys[k] = added;
+                rows[k++] = addedRow;
+                added = null;
+            }
+            keys[k] = src.sortedRegNos[i];
+            rows[k++] = r >= shiftFrom ? r + shift : r;
+        }
+        if (added != null) {
+            keys[k] = added;
+            rows[k++] = addedRow;
+        }
+        sortedRegNos = Arrays.copyOf(keys, k);
+        regNoRows = Arrays.copyOf(rows, k);
+    }
+
+    private final class RowView extends AbstractList<MedicineMasterDto> implements RandomAccess {
+        @Override
+        public MedicineMasterDto get(int index) {
+            return CompactCatalog.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return ids.length;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.backend.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * SHA-256 (hex) over a row's field values, used to tell whether a register row changed
+ * without comparing every column. Null and empty values hash differently.
+ */
+public final class ContentHash {
+
+    private static final char SEPARATOR = '\u001F';
+    private static final char NULL_MARK = '\u0000';
+
+    private ContentHash() {
+    }
+
+    public static String of(String... values) {
+        StringBuilder sb = new StringBuilder(128);
+        for (String v : values) {
+            sb.append(v == null ? String.valueOf(NULL_MARK) : v).append(SEPARATOR);
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.backend.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursors: the sort-key values of the last row of a page,
+ * joined and Base64(url) encoded so clients treat them as a token.
+ */
+public final class CursorCodec {
+
+    private static final String SEPARATOR = "\u001F"; // unit separator, never part of a key value
+
+    private CursorCodec() {
+    }
+
+    public static String encode(Object... keys) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < keys.length; i++) {
+            if (i > 0) sb.append(SEPARATOR);
+            sb.append(keys[i] == null ? "" : keys[i].toString());
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the encoded key values (empty string for null keys)
+     * @throws RuntimeException if the cursor is malformed or has the wrong number of keys
+     */
+    public static String[] decode(String cursor, int expectedKeys) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] keys = raw.split(SEPARATOR, -1);
+            if (keys.length != expectedKeys) throw new IllegalArgumentException();
+            return keys;
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+
+    public static Integer decodeInt(String key) {
+        try {
+            return key.isEmpty() ? null : Integer.valueOf(key);
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+}
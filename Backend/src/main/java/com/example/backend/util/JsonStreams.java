@@ -0,0 +1,26 @@
+package com.example.backend.util;
+
+import java.io.OutputStream;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.ObjectMapper;
+
+public final class JsonStreams {
+
+    // flush the generator every N elements so bytes reach the client while rows are still being read
+    public static final int FLUSH_EVERY = 500;
+
+    private JsonStreams() {
+    }
+
+    /**
+     * Generator over a response stream, configured like the application's ObjectMapper.
+     * Closing the generator does not close the underlying (container-owned) stream.
+     */
+    public static JsonGenerator generator(ObjectMapper objectMapper, OutputStream out) {
+        return objectMapper.writer()
+                .without(StreamWriteFeature.AUTO_CLOSE_TARGET)
+                .createGenerator(out);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.backend.util;
+
+/**
+ * Shallow heap size estimates for a 64-bit JVM with compressed oops (the default below 32 GB heap).
+ * Good enough to compare representations; not a substitute for a heap dump.
+ */
+public final class MemoryEstimates {
+
+    public static final int OBJECT_HEADER = 12;
+    public static final int ARRAY_HEADER = 16;
+    public static final int REFERENCE = 4;
+    public static final int BOXED_INTEGER = 16;
+
+    private MemoryEstimates() {
+    }
+
+    public static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    // String object + its byte[] (Latin-1 compact strings; UTF-16 takes two bytes per char)
+    public static long string(String s) {
+        if (s == null) return 0;
+        boolean latin1 = s.chars().allMatch(c -> c < 256);
+        long payload = (long) s.length() * (latin1 ? 1 : 2);
+        return align(OBJECT_HEADER + 4 + 4 + 1 + 1) + align(ARRAY_HEADER + payload);
+    }
+
+    public static long intArray(int length) {
+        return align(ARRAY_HEADER + 4L * length);
+    }
+
+    public static long byteArray(int length) {
+        return align(ARRAY_HEADER + (long) length);
+    }
+
+    public static long referenceArray(int length) {
+        return align(ARRAY_HEADER + (long) REFERENCE * length);
+    }
+
+    public static long arrayList(int size) {
+        return align(OBJECT_HEADER + 4 + 4 + REFERENCE) + referenceArray(size);
+    }
+
+    // table + one node per entry (keys/values counted by the caller)
+    public static long hashMap(int size) {
+        int table = Integer.highestOneBit(Math.max(1, (int) (size / 0.75f)) * 2 - 1);
+        return align(OBJECT_HEADER + 4 * 4 + 4 * REFERENCE) + referenceArray(table)
+                + (long) size * align(OBJECT_HEADER + 4 + 3L * REFERENCE);
+    }
+}
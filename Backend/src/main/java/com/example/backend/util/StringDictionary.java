@@ -0,0 +1,59 @@
+package com.example.backend.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dictionary encoding for low-cardinality text columns: each distinct value is stored once
+ * and rows hold an int code (-1 = null).
+ */
+public final class StringDictionary {
+
+    public static final int NULL_CODE = -1;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    public int encode(String value) {
+        if (value == null) return NULL_CODE;
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            codes.put(value, code);
+            values.add(value);
+        }
+        return code;
+    }
+
+    public boolean contains(String value) {
+        return codes.containsKey(value);
+    }
+
+    // independent copy with the same codes (a published dictionary is never modified, see CompactCatalog)
+    public StringDictionary copy() {
+        StringDictionary d = new StringDictionary();
+        d.codes.putAll(codes);
+        d.values.addAll(values);
+        return d;
+    }
+
+    public String decode(int code) {
+        return code == NULL_CODE ? null : values.get(code);
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    // distinct values + lookup table
+    public long estimatedHeapBytes() {
+        long bytes = MemoryEstimates.OBJECT_HEADER + 2L * MemoryEstimates.REFERENCE;
+        bytes += MemoryEstimates.hashMap(values.size()) + MemoryEstimates.arrayList(values.size());
+        for (String v : values) {
+            bytes += MemoryEstimates.string(v) + MemoryEstimates.BOXED_INTEGER;
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.backend.util;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Map;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Opening hours compiled to sorted, non-overlapping [open, close) minute-of-week intervals (Monday 00:00 = 0).
+ * Parsed once when the hours are written; "is it open" is then a binary search with no JSON involved.
+ *
+ * Source format (Pharmacy.openingHoursJson, as written by the pharmacy profile page):
+ * {"weekdays":{"open":"08:00","close":"20:00"},"saturday":{...},"sunday":{...}}
+ * Empty open/close = closed that day; close earlier than open = runs past midnight into the next day.
+ */
+public final class WeeklySchedule {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+    public static final int MINUTES_PER_WEEK = 7 * MINUTES_PER_DAY;
+
+    public static final WeeklySchedule CLOSED = new WeeklySchedule(new int[0]);
+
+    private static final ObjectMapper MAPPER = JsonMapper.builder().build();
+    private static final TypeReference<Map<String, Map<String, String>>> HOURS_TYPE = new TypeReference<>() {};
+
+    // [start0, end0, start1, end1, ...] ascending
+    private final int[] bounds;
+
+    private WeeklySchedule(int[] bounds) {
+        this.bounds = bounds;
+    }
+
+    /**
+     * Strict parse, used to validate input on write. Blank input = no hours set (always closed).
+     */
+    public static WeeklySchedule parse(String json) {
+        if (json == null || json.isBlank()) return CLOSED;
+
+        Map<String, Map<String, String>> hours;
+        try {
+            hours = MAPPER.readValue(json, HOURS_TYPE);
+        } catch (JacksonException ex) {
+            throw new RuntimeException("Invalid opening hours JSON");
+        }
+        if (hours == null) return CLOSED;
+
+        int[] raw = new int[7 * 4];
+        int n = 0;
+        for (int day = 0; day < 7; day++) {
+            String key = day < 5 ? "weekdays" : day == 5 ? "saturday" : "sunday";
+            Map<String, String> h = hours.get(key);
+            if (h == null) continue;
+            String open = h.get("open");
+            String close = h.get("close");
+            if (open == null || close == null || open.isBlank() || close.isBlank()) continue;
+
+            int o = day * MINUTES_PER_DAY + minuteOfDay(open);
+            int c = day * MINUTES_PER_DAY + minuteOfDay(close);
+            if (c == o) continue; // same open/close time: treated as closed
+            if (c < o) c += MINUTES_PER_DAY; // overnight
+
+            if (c <= MINUTES_PER_WEEK) {
+                raw[n++] = o;
+                raw[n++] = c;
+            } else {
+                // Sunday night into Monday morning wraps to the start of the week
+                raw[n++] = o;
+                raw[n++] = MINUTES_PER_WEEK;
+                raw[n++] = 0;
+                raw[n++] = c - MINUTES_PER_WEEK;
+            }
+        }
+        return n == 0 ? CLOSED : new WeeklySchedule(merge(raw, n));
+    }
+
+    /**
+     * Lenient parse for data already stored: bad JSON is treated as "no hours set".
+     */
+    public static WeeklySchedule parseOrClosed(String json) {
+        try {
+            return parse(json);
+        } catch (RuntimeException ex) {
+            return CLOSED;
+        }
+    }
+
+    public static int minuteOfWeek(LocalDateTime localTime) {
+        DayOfWeek day = localTime.getDayOfWeek();
+        return (day.getValue() - 1) * MINUTES_PER_DAY + localTime.getHour() * 60 + localTime.getMinute();
+    }
+
+    public boolean isOpenAt(int minuteOfWeek) {
+        // index of the first bound > minuteOfWeek; odd index = inside an interval
+        int lo = 0, hi = bounds.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (bounds[mid] <= minuteOfWeek) lo = mid + 1;
+            else hi = mid;
+        }
+        return (lo & 1) == 1;
+    }
+
+    public boolean isOpenAt(LocalDateTime localTime) {
+        return isOpenAt(minuteOfWeek(localTime));
+    }
+
+    public boolean isAlwaysClosed() {
+        return bounds.length == 0;
+    }
+
+    // ===== Helpers =====
+
+    private static int minuteOfDay(String hhmm) {
+        String[] parts = hhmm.trim().split(":");
+        try {
+            int h = Integer.parseInt(parts[0]);
+            int m = parts.length > 1 ? Integer.parseInt(parts[1]) : 0;
+            if (h == 24 && m == 0) return MINUTES_PER_DAY;
+            if (h < 0 || h > 23 || m < 0 || m > 59) throw new NumberFormatException();
+            return h * 60 + m;
+        } catch (NumberFormatException ex) {
+            throw new RuntimeException("Invalid opening time: " + hhmm);
+        }
+    }
+
+    // sort intervals by start and merge overlapping/touching ones
+    private static int[] merge(int[] raw, int n) {
+        int count = n / 2;
+        long[] packed = new long[count];
+        for (int i = 0; i < count; i++) {
+            packed[i] = ((long) raw[2 * i] << 32) | raw[2 * i + 1];
+        }
+        Arrays.sort(packed);
+
+        int[] out = new int[n];
+        int m = 0;
+        for (long p : packed) {
+            int s = (int) (p >>> 32);
+            int e = (int) p;
+            if (m > 0 && s <= out[m - 1]) {
+                out[m - 1] = Math.max(out[m - 1], e);
+            } else {
+                out[m++] = s;
+                out[m++] = e;
+            }
+        }
+        return Arrays.copyOf(out, m);
+    }
+}
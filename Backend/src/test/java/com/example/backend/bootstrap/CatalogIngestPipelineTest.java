@@ -0,0 +1,137 @@
+package com.example.backend.bootstrap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.backend.entity.MedicineMaster;
+import com.opencsv.CSVReader;
+
+class CatalogIngestPipelineTest {
+
+    private static String[] row(String genericName, String regNo) {
+        return new String[] { genericName, "Brand", "Maker", "Country", regNo, "10mg" };
+    }
+
+    private static CatalogIngestPipeline.RowReader readerOf(List<String[]> rows) {
+        Iterator<String[]> it = rows.iterator();
+        return () -> it.hasNext() ? it.next() : null;
+    }
+
+    @Test
+    void emitsRowsInFileOrderWithSeveralWorkers() throws Exception {
+        List<String[]> rows = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            rows.add(row("Generic " + i, "REG-" + i));
+        }
+        List<String> written = new ArrayList<>();
+
+        CatalogIngestPipeline.Stats stats = new CatalogIngestPipeline(4, 7)
+                .run(readerOf(rows), RegisterRow::parse, m -> written.add(m.getRegNo()));
+
+        assertThat(stats).isEqualTo(new CatalogIngestPipeline.Stats(1_000, 1_000, 0, 0));
+        assertThat(written).hasSize(1_000);
+        for (int i = 0; i < written.size(); i++) {
+            assertThat(written.get(i)).isEqualTo("REG-" + i);
+        }
+    }
+
+    @Test
+    void severalWorkersAcceptTheSameRowsAsOne() throws Exception {
+        List<String> single = ingest(20_000, 1);
+        List<String> parallel = ingest(20_000, 4);
+
+        // every 100th generated row repeats the previous regNo
+        assertThat(single).hasSize(20_000 - 20_000 / 100);
+        assertThat(parallel).isEqualTo(single);
+    }
+
+    private static List<String> ingest(int rows, int workers) throws Exception {
+        List<String> hashes = new ArrayList<>();
+        try (CSVReader csv = new CSVReader(new SyntheticRegister(rows))) {
+            csv.readNext(); // header
+            new CatalogIngestPipeline(workers, 64).run(csv::readNext, RegisterRow::parse,
+                    m -> hashes.add(m.getContentHash()));
+        }
+        return hashes;
+    }
+
+    @Test
+    void firstOccurrenceWinsAcrossChunksAndCase() throws Exception {
+        List<String[]> rows = List.of(
+                row("first", "REG-1"),
+                row("other", "REG-2"),
+                row("second", "REG-1"),
+                row("case variant", "reg-1"),
+                row("other again", "Reg-2"),
+                row("third", "REG-3"));
+        List<MedicineMaster> written = new ArrayList<>();
+
+        CatalogIngestPipeline.Stats stats = new CatalogIngestPipeline(3, 1)
+                .run(readerOf(rows), RegisterRow::parse, written::add);
+
+        assertThat(written).extracting(MedicineMaster::getGenericName).containsExactly("first", "other", "third");
+        assertThat(stats.accepted()).isEqualTo(3);
+        assertThat(stats.skippedDuplicates()).isEqualTo(3);
+    }
+
+    @Test
+    void countsInvalidRows() throws Exception {
+        List<String[]> rows = List.of(
+                row("ok", "REG-1"),
+                new String[] { "too", "short" },
+                row("no regNo", "  "),
+                row("ok too", "REG-2"));
+        List<MedicineMaster> written = new ArrayList<>();
+
+        CatalogIngestPipeline.Stats stats = new CatalogIngestPipeline(2, 2)
+                .run(readerOf(rows), RegisterRow::parse, written::add);
+
+        assertThat(stats).isEqualTo(new CatalogIngestPipeline.Stats(4, 2, 0, 2));
+        assertThat(written).extracting(MedicineMaster::getRegNo).containsExactly("REG-1", "REG-2");
+    }
+
+    @Test
+    void emptyInputWritesNothing() throws Exception {
+        CatalogIngestPipeline.Stats stats = new CatalogIngestPipeline(2, 16)
+                .run(() -> null, RegisterRow::parse, m -> { throw new AssertionError("unexpected row"); });
+
+        assertThat(stats).isEqualTo(new CatalogIngestPipeline.Stats(0, 0, 0, 0));
+    }
+
+    @Test
+    void propagatesReaderFailure() {
+        int[] calls = { 0 };
+        CatalogIngestPipeline.RowReader failing = () -> {
+            if (calls[0]++ < 10) return row("g", "REG-" + calls[0]);
+            throw new IOException("disk gone");
+        };
+
+        assertThatThrownBy(() -> new CatalogIngestPipeline(2, 4).run(failing, RegisterRow::parse, m -> { }))
+                .isInstanceOf(IOException.class)
+                .hasMessage("disk gone");
+    }
+
+    @Test
+    void propagatesNormalizerFailure() {
+        List<String[]> rows = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            rows.add(row("g", "REG-" + i));
+        }
+        Function<String[], MedicineMaster> normalizer = c -> {
+            if (c[4].equals("REG-50")) throw new IllegalArgumentException("bad row");
+            return RegisterRow.parse(c);
+        };
+
+        assertThatThrownBy(() -> new CatalogIngestPipeline(3, 8).run(readerOf(rows), normalizer, m -> { }))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("bad row");
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.backend.bootstrap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.opencsv.CSVReader;
+
+/**
+ * Parse/validate throughput of the register ingest pipeline on a generated 1M-row register, with one
+ * worker and with the default worker count, through the same stages the importer uses and a sink that
+ * only counts (nothing is written). A warm-up run comes first so JIT compilation is not measured.
+ * Tagged benchmark: not part of the default test run (mvn test -Pbenchmark); CatalogIngestPipelineTest
+ * covers the same equivalence on a small register.
+ */
+@Tag("benchmark")
+class CatalogIngestPipelineThroughputTest {
+
+    private static final int ROWS = 1_000_000;
+    private static final int WARMUP_ROWS = 100_000;
+    private static final int CHUNK_SIZE = 512;
+
+    private record Run(int workers, CatalogIngestPipeline.Stats stats, long accepted, long checksum, long rowsPerSecond) {
+    }
+
+    @Test
+    void parallelWorkersProduceTheSameRowsAsOne() throws Exception {
+        int workers = Math.max(2, CatalogIngestPipeline.defaultWorkers());
+        measure(WARMUP_ROWS, workers);
+
+        List<Run> runs = new ArrayList<>();
+        runs.add(measure(ROWS, 1));
+        runs.add(measure(ROWS, workers));
+        for (Run r : runs) {
+            System.out.printf("ingest %,d rows with %d worker(s): %,d rows/s, %,d accepted, %,d duplicates%n",
+                    ROWS, r.workers(), r.rowsPerSecond(), r.accepted(), r.stats().skippedDuplicates());
+        }
+
+        Run single = runs.get(0);
+        Run parallel = runs.get(1);
+        // every 100th generated row repeats the previous regNo
+        assertThat(single.stats().rowsRead()).isEqualTo(ROWS);
+        assertThat(single.stats().skippedDuplicates()).isEqualTo(ROWS / 100);
+        assertThat(single.accepted()).isEqualTo(ROWS - ROWS / 100);
+        assertThat(parallel.stats()).isEqualTo(single.stats());
+        // same rows in the same (file) order
+        assertThat(parallel.checksum()).isEqualTo(single.checksum());
+    }
+
+    private static Run measure(int rows, int workers) throws Exception {
+        long[] accepted = {0};
+        long[] checksum = {0};
+        long start = System.nanoTime();
+        CatalogIngestPipeline.Stats stats;
+        try (CSVReader csv = new CSVReader(new SyntheticRegister(rows))) {
+            csv.readNext(); // header
+            stats = new CatalogIngestPipeline(workers, CHUNK_SIZE).run(csv::readNext, RegisterRow::parse, m -> {
+                accepted[0]++;
+                checksum[0] = 31 * checksum[0] + m.getContentHash().hashCode();
+            });
+        }
+        long elapsedNs = Math.max(System.nanoTime() - start, 1);
+        return new Run(workers, stats, accepted[0], checksum[0], Math.round(stats.rowsRead() / (elapsedNs / 1e9)));
+    }
+}
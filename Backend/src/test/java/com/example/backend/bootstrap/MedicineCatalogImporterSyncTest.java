@@ -0,0 +1,116 @@
+package com.example.backend.bootstrap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.backend.entity.CatalogStatus;
+import com.example.backend.entity.MedicineMaster;
+import com.example.backend.repository.MedicineMasterRepository;
+import com.example.backend.service.CatalogImportStatusService;
+import com.example.backend.service.IdAllocatorService;
+
+import jakarta.persistence.EntityManager;
+
+// Differential sync against data/register-sync.csv (test resources)
+@DataJpaTest
+class MedicineCatalogImporterSyncTest {
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MedicineMasterRepository medicineRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private MedicineCatalogImporter importer;
+
+    @BeforeEach
+    void setUp() {
+        IdAllocatorService ids = mock(IdAllocatorService.class);
+        AtomicLong next = new AtomicLong(100_000);
+        when(ids.reserve(anyString(), anyInt())).thenAnswer(inv -> next.getAndAdd(inv.<Integer>getArgument(1)));
+        importer = new MedicineCatalogImporter(medicineRepository, mock(ApplicationEventPublisher.class), jdbcTemplate,
+                transactionManager, ids, mock(CatalogImportStatusService.class), "jdbc", 2, true, 2,
+                "data/register-sync.csv");
+    }
+
+    @Test
+    void keepsAdminArchivesAndReactivatesOnlyWhatTheSyncArchived() throws Exception {
+        MedicineMaster byAdmin = stored("Paracetamol,Panadol,GSK,UK,REG-A,500 mg", CatalogStatus.ARCHIVED, null);
+        MedicineMaster bySync = stored("Amoxicillin,Amoxil,Beecham,UK,REG-B,250 mg", CatalogStatus.ARCHIVED, true);
+        MedicineMaster left = stored("Aspirin,Disprin,Reckitt,UK,REG-X,300 mg", CatalogStatus.ACTIVE, null);
+        flush();
+
+        MedicineCatalogImporter.SyncStats stats = importer.syncWithRegister();
+
+        assertThat(reload(byAdmin).getStatus()).isEqualTo(CatalogStatus.ARCHIVED);
+        assertThat(reload(bySync).getStatus()).isEqualTo(CatalogStatus.ACTIVE);
+        assertThat(reload(bySync).getArchivedBySync()).isNull();
+        assertThat(reload(left).getStatus()).isEqualTo(CatalogStatus.ARCHIVED);
+        assertThat(reload(left).getArchivedBySync()).isTrue();
+        assertThat(stats.archived()).isEqualTo(1);
+    }
+
+    @Test
+    void changedRegisterRowsKeepTheStatusAnAdminChose() throws Exception {
+        MedicineMaster byAdmin = stored("Paracetamol,Panadol,GSK,UK,REG-A,500 mg", CatalogStatus.ARCHIVED, null);
+        byAdmin.setContentHash("hash of an older register row");
+        flush();
+
+        importer.syncWithRegister();
+
+        MedicineMaster after = reload(byAdmin);
+        assertThat(after.getContentHash()).isNotEqualTo("hash of an older register row");
+        assertThat(after.getStatus()).isEqualTo(CatalogStatus.ARCHIVED);
+    }
+
+    @Test
+    void matchesRegNosCaseInsensitively() throws Exception {
+        MedicineMaster lowerCase = stored("Ibuprofen,Brufen,Abbott,UK,reg-c,400 mg", CatalogStatus.ACTIVE, null);
+        flush();
+
+        MedicineCatalogImporter.SyncStats stats = importer.syncWithRegister();
+
+        // REG-C updates the stored reg-c, and the register's reg-d is a repeat of REG-D
+        assertThat(stats.inserted()).isEqualTo(4); // REG-A, REG-B, REG-D, REG-E
+        assertThat(stats.updated()).isEqualTo(1);
+        assertThat(medicineRepository.count()).isEqualTo(5);
+        assertThat(reload(lowerCase).getStatus()).isEqualTo(CatalogStatus.ACTIVE);
+    }
+
+    private MedicineMaster stored(String registerLine, CatalogStatus status, Boolean archivedBySync) {
+        MedicineMaster m = RegisterRow.parse(registerLine.split(","));
+        m.setStatus(status);
+        m.setArchivedBySync(archivedBySync);
+        em.persist(m);
+        return m;
+    }
+
+    private void flush() {
+        em.flush();
+        em.clear();
+    }
+
+    private MedicineMaster reload(MedicineMaster m) {
+        em.clear();
+        return em.find(MedicineMaster.class, m.getId());
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.backend.bootstrap;
+
+import java.io.Reader;
+
+/**
+ * A register-shaped CSV of any size, generated line by line (nothing is held in memory), for measuring
+ * the ingest pipeline without a real file. Deterministic: every 100th row repeats the previous regNo
+ * so duplicate handling is exercised, and brand names are quoted and contain commas.
+ */
+final class SyntheticRegister extends Reader {
+
+    private static final String HEADER = "genericName,brandName,manufacturer,country,regNo,dosage\n";
+    private static final String[] DOSAGES = {"250 mg", "500 mg", "5 mg/ml", "10 mg", "1 g", "100 mg/5 ml"};
+
+    private final int rows;
+    private final StringBuilder line = new StringBuilder(128);
+    private int nextRow = -1; // -1 = header
+    private int pos;
+
+    SyntheticRegister(int rows) {
+        this.rows = rows;
+    }
+
+    @Override
+    public int read(char[] buf, int off, int len) {
+        if (pos == line.length() && !nextLine()) return -1;
+        int n = Math.min(len, line.length() - pos);
+        line.getChars(pos, pos + n, buf, off);
+        pos += n;
+        return n;
+    }
+
+    private boolean nextLine() {
+        if (nextRow >= rows) return false;
+        line.setLength(0);
+        pos = 0;
+        if (nextRow < 0) {
+            line.append(HEADER);
+        } else {
+            int i = nextRow;
+            int reg = (i % 100 == 99) ? i - 1 : i;
+            line.append("Generic ").append(i % 2000).append(',')
+                    .append("\"Brand ").append(i).append(", tablets\",")
+                    .append("Manufacturer ").append(i % 300).append(',')
+                    .append("Country ").append(i % 30).append(',')
+                    .append("SYN").append(reg).append(',')
+                    .append(DOSAGES[i % DOSAGES.length]).append('\n');
+        }
+        nextRow++;
+        return true;
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.backend.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.function.IntFunction;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+
+import com.example.backend.entity.IdAllocation;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.TableGenerator;
+
+/**
+ * Before/after for the id strategy: the same row inserted N times with an IDENTITY id
+ * (one INSERT per row, the id comes back from each) and with the pooled table generator the
+ * entities use (ids reserved in blocks, inserts grouped into JDBC batches of hibernate.jdbc.batch_size).
+ * The timed 5000-row run is tagged benchmark (mvn test -Pbenchmark); the default run only counts statements.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class IdGenerationBatchingTest {
+
+    private static final int ROWS = 5000;
+
+    @Entity
+    static class IdentityRow {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Integer id;
+        String genericName;
+        String regNo;
+    }
+
+    @Entity
+    static class PooledRow {
+        @Id
+        @GeneratedValue(strategy = GenerationType.TABLE, generator = "pooled_row_ids")
+        @TableGenerator(name = "pooled_row_ids", table = IdAllocation.TABLE, pkColumnName = IdAllocation.KEY_COLUMN,
+                valueColumnName = IdAllocation.VALUE_COLUMN, pkColumnValue = "pooled_row",
+                allocationSize = IdAllocation.BLOCK_SIZE)
+        Integer id;
+        String genericName;
+        String regNo;
+    }
+
+    private record Run(long statements, long rowsPerSecond) {
+    }
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    @Test
+    void pooledIdsNeedFarFewerStatements() {
+        int rows = 2 * IdAllocation.BLOCK_SIZE;
+        insert(IdGenerationBatchingTest::pooledRow, 1); // creates the generator's row in id_allocator
+
+        Run identity = insert(IdGenerationBatchingTest::identityRow, rows);
+        Run pooled = insert(IdGenerationBatchingTest::pooledRow, rows);
+
+        assertThat(identity.statements()).isGreaterThanOrEqualTo(rows);
+        assertThat(pooled.statements()).isLessThanOrEqualTo(2L * rows / IdAllocation.BLOCK_SIZE + 2);
+    }
+
+    @Tag("benchmark")
+    @Test
+    void pooledIdsBatchTheInserts() {
+        // warm-up (class loading, statement caches)
+        insert(IdGenerationBatchingTest::identityRow, 500);
+        insert(IdGenerationBatchingTest::pooledRow, 500);
+
+        Run identity = insert(IdGenerationBatchingTest::identityRow, ROWS);
+        Run pooled = insert(IdGenerationBatchingTest::pooledRow, ROWS);
+
+        System.out.printf("%d inserts: IDENTITY %d statements, %,d rows/s; pooled %d statements, %,d rows/s%n",
+                ROWS, identity.statements(), identity.rowsPerSecond(), pooled.statements(), pooled.rowsPerSecond());
+
+        assertThat(identity.statements()).isGreaterThanOrEqualTo(ROWS);
+        // one batch per batch_size rows plus one id block reservation per BLOCK_SIZE rows, at most
+        assertThat(pooled.statements()).isLessThanOrEqualTo(2L * ROWS / IdAllocation.BLOCK_SIZE + 2);
+    }
+
+    private Run insert(IntFunction<Object> row, int count) {
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            em.persist(row.apply(i));
+        }
+        em.flush();
+        long elapsed = Math.max(1, System.nanoTime() - start);
+        em.clear();
+        return new Run(statistics.getPrepareStatementCount(), count * 1_000_000_000L / elapsed);
+    }
+
+    private static IdentityRow identityRow(int i) {
+        IdentityRow r = new IdentityRow();
+        r.genericName = "Generic " + i;
+        r.regNo = "REG-" + i;
+        return r;
+    }
+
+    private static PooledRow pooledRow(int i) {
+        PooledRow r = new PooledRow();
+        r.genericName = "Generic " + i;
+        r.regNo = "REG-" + i;
+        return r;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.backend.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+
+import com.example.backend.dto.projection.PublicAvailabilityRow;
+import com.example.backend.dto.response.PublicPharmacyWithInventoryResponse;
+import com.example.backend.entity.MedicineMaster;
+import com.example.backend.support.TestData;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+// The public listing must cost the same number of statements for 1 pharmacy as for many
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class PublicAvailabilityQueryTest {
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    @Autowired
+    private PharmacyInventoryRepository inventoryRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 25})
+    void listingIsOneStatementWhateverThePharmacyCount(int pharmacies) {
+        MedicineMaster paracetamol = TestData.medicine(em, "REG-1", "Paracetamol", "Panadol");
+        MedicineMaster amoxicillin = TestData.medicine(em, "REG-2", "Amoxicillin", "Amoxil");
+        TestData.pharmaciesWithStock(em, pharmacies, paracetamol, amoxicillin);
+        em.flush();
+        em.clear();
+
+        statistics.clear();
+        List<PublicPharmacyWithInventoryResponse> listing =
+                PublicPharmacyWithInventoryResponse.fromRows(inventoryRepository.findPublicAvailabilityRows());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(listing).hasSize(pharmacies);
+        assertThat(listing).allSatisfy(p -> {
+            assertThat(p.getInventory()).hasSize(2);
+            assertThat(p.getLatitude()).isNotNull();
+        });
+    }
+
+    @Test
+    void pageRowsOnlyCarryTheRequestedMedicine() {
+        MedicineMaster paracetamol = TestData.medicine(em, "REG-1", "Paracetamol", "Panadol");
+        MedicineMaster amoxicillin = TestData.medicine(em, "REG-2", "Amoxicillin", "Amoxil");
+        TestData.pharmaciesWithStock(em, 3, paracetamol, amoxicillin);
+        em.flush();
+        List<Integer> ids = em.createQuery("select p.id from Pharmacy p order by p.id", Integer.class).getResultList();
+
+        List<PublicAvailabilityRow> all = inventoryRepository.findPublicAvailabilityRowsForPharmacies(ids, false, null);
+        List<PublicAvailabilityRow> filtered =
+                inventoryRepository.findPublicAvailabilityRowsForPharmacies(ids, false, amoxicillin.getId());
+
+        assertThat(all).hasSize(6);
+        assertThat(filtered).hasSize(3).allSatisfy(r -> assertThat(r.getMedicineId()).isEqualTo(amoxicillin.getId()));
+    }
+}
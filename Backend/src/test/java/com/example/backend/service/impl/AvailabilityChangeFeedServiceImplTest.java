@@ -0,0 +1,123 @@
+package com.example.backend.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.backend.dto.response.AvailabilityChangesResponse;
+import com.example.backend.dto.response.AvailabilityChangesResponse.InventoryKey;
+import com.example.backend.event.InventoryChangedEvent;
+import com.example.backend.repository.AvailabilityChangeRepository;
+import com.example.backend.repository.PharmacyInventoryRepository;
+import com.example.backend.repository.PharmacyRepository;
+
+// Runs without the test-managed transaction: the feed's ordering depends on real commits
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AvailabilityChangeFeedServiceImplTest {
+
+    @Autowired
+    private AvailabilityChangeRepository changeRepository;
+
+    @Autowired
+    private PharmacyInventoryRepository inventoryRepository;
+
+    @Autowired
+    private PharmacyRepository pharmacyRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private AvailabilityChangeFeedServiceImpl feed;
+    private TransactionTemplate tx;
+
+    @BeforeEach
+    void setUp() {
+        feed = new AvailabilityChangeFeedServiceImpl(changeRepository, inventoryRepository, pharmacyRepository,
+                new OpeningHoursServiceImpl(pharmacyRepository, "Asia/Colombo"), transactionManager);
+        tx = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        changeRepository.deleteAll();
+    }
+
+    @Test
+    void changeLoggedFirstButCommittedLastIsNotSkipped() throws Exception {
+        CountDownLatch logged = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+
+        // T1 logs its change first (lower identity id) but commits last
+        Thread slowWriter = new Thread(() -> tx.executeWithoutResult(s -> {
+            feed.onInventoryChanged(change(1, 10));
+            logged.countDown();
+            await(commit);
+        }));
+        slowWriter.start();
+        assertThat(logged.await(10, TimeUnit.SECONDS)).isTrue();
+
+        tx.executeWithoutResult(s -> feed.onInventoryChanged(change(2, 20)));
+
+        AvailabilityChangesResponse first = feed.changesSince(0, 100);
+        assertThat(first.getInventoryDeletes()).containsExactly(new InventoryKey(2, 20));
+
+        commit.countDown();
+        slowWriter.join(10_000);
+
+        AvailabilityChangesResponse second = feed.changesSince(first.getVersion(), 100);
+        assertThat(second.isResetRequired()).isFalse();
+        assertThat(second.getInventoryDeletes()).containsExactly(new InventoryKey(1, 10));
+        assertThat(second.getVersion()).isGreaterThan(first.getVersion());
+    }
+
+    @Test
+    void rolledBackChangesAreNeverServed() {
+        tx.executeWithoutResult(s -> {
+            feed.onInventoryChanged(change(3, 30));
+            s.setRollbackOnly();
+        });
+        feed.onInventoryChanged(change(4, 40));
+
+        AvailabilityChangesResponse response = feed.changesSince(0, 100);
+        assertThat(response.getInventoryDeletes()).containsExactly(new InventoryKey(4, 40));
+    }
+
+    @Test
+    void clientStartingFromZeroAfterPruningMustReset() {
+        for (int i = 0; i < 3; i++) feed.onInventoryChanged(change(5, 50 + i));
+        tx.executeWithoutResult(s -> changeRepository.deleteOlderThan(LocalDateTime.now().plusDays(1), feed.headVersion()));
+
+        long head = feed.headVersion();
+        assertThat(feed.changesSince(0, 100).isResetRequired()).isTrue();
+        assertThat(feed.changesSince(head - 2, 100).isResetRequired()).isTrue();
+
+        AvailabilityChangesResponse fromLastKnown = feed.changesSince(head - 1, 100);
+        assertThat(fromLastKnown.isResetRequired()).isFalse();
+        assertThat(fromLastKnown.getInventoryDeletes()).containsExactly(new InventoryKey(5, 52));
+    }
+
+    private static InventoryChangedEvent change(int pharmacyId, int medicineId) {
+        return new InventoryChangedEvent(null, pharmacyId, "Pharmacy " + pharmacyId, medicineId, 0, null, null, true);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.backend.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.backend.dto.response.BulkUpsertResult;
+import com.example.backend.dto.response.BulkUpsertResult.RejectedRow;
+import com.example.backend.event.CatalogChangedEvent;
+import com.example.backend.repository.MedicineMasterRepository;
+import com.example.backend.service.IdAllocatorService;
+
+import tools.jackson.databind.json.JsonMapper;
+
+class MedicineBulkUpsertServiceImplTest {
+
+    private final MedicineMasterRepository medicineRepository = mock(MedicineMasterRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final IdAllocatorService idAllocator = mock(IdAllocatorService.class);
+
+    private MedicineBulkUpsertServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        when(medicineRepository.findDtosByRegNoIn(anyList())).thenReturn(List.of());
+        when(idAllocator.reserve(anyString(), anyInt())).thenReturn(1L);
+        service = new MedicineBulkUpsertServiceImpl(medicineRepository, jdbcTemplate,
+                mock(PlatformTransactionManager.class), eventPublisher, JsonMapper.builder().build(), idAllocator);
+    }
+
+    @Test
+    void rejectsValuesLongerThanTheirColumn() {
+        String csv = "regNo,genericName,brandName,manufacturer,country,dosage\n"
+                + "R1,Paracetamol,Panadol,GSK,UK,500 mg\n"
+                + "R2," + "x".repeat(256) + ",,,,\n"
+                + "R3,,,," + "x".repeat(256) + ",\n"
+                + "R4,,,,," + "x".repeat(256) + "\n"
+                + "x".repeat(51) + ",,,,,\n";
+
+        BulkUpsertResult result = service.upsertCsv(stream(csv));
+
+        assertThat(result.getInserted()).isEqualTo(1);
+        assertThat(result.getRejected()).isEqualTo(4);
+        assertThat(result.getErrors()).extracting(RejectedRow::getReason).containsExactly(
+                "genericName is longer than 255 characters",
+                "country is longer than 255 characters",
+                "dosage is longer than 255 characters",
+                "regNo is longer than 50 characters");
+    }
+
+    @Test
+    void committedBatchesReachTheViewsWhenALaterBatchFails() {
+        // the first batch (1000 rows) commits, the second one fails
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenReturn(new int[0])
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < 1500; i++) {
+            lines.append("{\"regNo\":\"R").append(i).append("\",\"genericName\":\"Generic ").append(i).append("\"}\n");
+        }
+
+        assertThatThrownBy(() -> service.upsertJsonLines(stream(lines.toString())))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        verify(eventPublisher).publishEvent(argThat((Object e) -> e instanceof CatalogChangedEvent c && c.isReload()));
+    }
+
+    @Test
+    void nothingWrittenMeansNoReload() {
+        BulkUpsertResult result = service.upsertCsv(stream("regNo,genericName\n,Paracetamol\n"));
+
+        assertThat(result.getRejected()).isEqualTo(1);
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    private static ByteArrayInputStream stream(String s) {
+        return new ByteArrayInputStream(s.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.backend.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.backend.dto.response.MedicineMasterDto;
+import com.example.backend.event.CatalogChangedEvent;
+import com.example.backend.repository.CatalogVersionRepository;
+import com.example.backend.repository.MedicineMasterRepository;
+
+class MedicineCatalogSnapshotServiceImplTest {
+
+    private final MedicineMasterRepository medicineRepository = mock(MedicineMasterRepository.class);
+    private final CatalogVersionRepository versionRepository = mock(CatalogVersionRepository.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final CatalogImportStatusServiceImpl importStatus = new CatalogImportStatusServiceImpl();
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void singleNodeWritesNeverTouchTheVersionRow() {
+        MedicineCatalogSnapshotServiceImpl snapshot = service(false);
+
+        snapshot.onCatalogWrite(CatalogChangedEvent.upserted(medicine(1)));
+        snapshot.onCatalogWrite(CatalogChangedEvent.deleted(1));
+        snapshot.onCatalogWrite(CatalogChangedEvent.reloaded());
+
+        verifyNoInteractions(versionRepository);
+    }
+
+    @Test
+    void multiNodeWriteBumpsTheVersionAndCleansUpOnCompletion() {
+        when(versionRepository.findCurrentVersion()).thenReturn(7L);
+        MedicineCatalogSnapshotServiceImpl snapshot = service(true);
+        TransactionSynchronizationManager.initSynchronization();
+
+        snapshot.onCatalogWrite(CatalogChangedEvent.upserted(medicine(1)));
+
+        verify(versionRepository).bump();
+        List<TransactionSynchronization> registered = TransactionSynchronizationManager.getSynchronizations();
+        assertThat(registered).hasSize(1);
+        // a rolled-back write must not leave its version behind for the next transaction on this thread
+        registered.get(0).afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+    }
+
+    @Test
+    void remoteReloadsAndTheInitialLoadAreNotCounted() {
+        MedicineCatalogSnapshotServiceImpl snapshot = service(true);
+
+        snapshot.onCatalogWrite(CatalogChangedEvent.remoteReload());
+        snapshot.onCatalogWrite(CatalogChangedEvent.initialLoad());
+
+        verifyNoInteractions(versionRepository);
+    }
+
+    @Test
+    void catalogOpensOnlyAfterTheStartupLoad() {
+        MedicineCatalogSnapshotServiceImpl snapshot = service(false);
+        importStatus.markReady(); // importer found a filled table
+
+        assertThat(importStatus.isReady()).isFalse();
+        assertThat(importStatus.status().getState()).isEqualTo("STARTING");
+
+        snapshot.onStartup();
+
+        // the load goes through one event, so every view reloads and DataVersionService moves the catalog ETag
+        verify(eventPublisher).publishEvent(argThat((Object e) -> e instanceof CatalogChangedEvent c && c.isReload()));
+        assertThat(importStatus.isReady()).isTrue();
+        assertThat(importStatus.status().getState()).isEqualTo("READY");
+    }
+
+    private MedicineCatalogSnapshotServiceImpl service(boolean multiNode) {
+        return new MedicineCatalogSnapshotServiceImpl(medicineRepository, versionRepository,
+                eventPublisher, importStatus, multiNode);
+    }
+
+    private static MedicineMasterDto medicine(int id) {
+        return new MedicineMasterDto(id, "Paracetamol", "Panadol", "GSK", "Sri Lanka", "REG-" + id, "ACTIVE", "500 mg");
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.backend.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.backend.dto.response.MedicineMasterDto;
+import com.example.backend.repository.MedicinePopularityRepository;
+import com.example.backend.service.MedicineCatalogSnapshotService;
+
+class MedicinePopularityServiceImplTest {
+
+    private final MedicineCatalogSnapshotService catalogSnapshot = mock(MedicineCatalogSnapshotService.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final MedicinePopularityServiceImpl popularity = new MedicinePopularityServiceImpl(
+            mock(MedicinePopularityRepository.class), jdbcTemplate, catalogSnapshot);
+
+    @Test
+    void countsSearchesAndSelectionsForCatalogMedicines() {
+        when(catalogSnapshot.byId(1)).thenReturn(
+                new MedicineMasterDto(1, "Paracetamol", "Panadol", "GSK", "Sri Lanka", "REG-001", "ACTIVE", "500 mg"));
+
+        popularity.recordSearch(1);
+        popularity.recordSelection(1);
+
+        assertThat(popularity.score(1)).isEqualTo(4);
+    }
+
+    @Test
+    void ignoresIdsThatAreNotInTheCatalog() {
+        for (int id = 1000; id < 1100; id++) {
+            popularity.recordSearch(id);
+            popularity.recordSelection(id);
+        }
+        popularity.recordSearch(null);
+
+        assertThat(popularity.score(1000)).isZero();
+        popularity.flush();
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
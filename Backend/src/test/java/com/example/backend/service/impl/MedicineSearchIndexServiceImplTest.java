@@ -0,0 +1,205 @@
+package com.example.backend.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.example.backend.dto.response.MedicineMasterDto;
+import com.example.backend.event.CatalogChangedEvent;
+import com.example.backend.repository.CatalogVersionRepository;
+import com.example.backend.repository.MedicineMasterRepository;
+import com.example.backend.service.MedicineCatalogSnapshotService;
+
+class MedicineSearchIndexServiceImplTest {
+
+    private static final List<MedicineMasterDto> CATALOG = List.of(
+            medicine(1, "Paracetamol", "Panadol", "500 mg", "GSK", "REG-001"),
+            medicine(2, "Paracetamol", "Calpol", "120 mg/5 ml", "GSK", "REG-002"),
+            medicine(3, "Amoxicillin", "Amoxil", "250 mg", "Beecham", "REG-003"),
+            medicine(4, "Ibuprofen", "Brufen", "400 mg", "Abbott", "REG-004")
+    );
+
+    private MedicineMasterRepository repository;
+    private MedicineCatalogSnapshotServiceImpl snapshot;
+    private MedicineSearchIndexServiceImpl index;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(MedicineMasterRepository.class);
+        when(repository.findAllDtos()).thenReturn(CATALOG);
+        snapshot = new MedicineCatalogSnapshotServiceImpl(repository, mock(CatalogVersionRepository.class),
+                mock(ApplicationEventPublisher.class), new CatalogImportStatusServiceImpl(), false);
+        index = new MedicineSearchIndexServiceImpl(snapshot);
+        snapshot.reload();
+        index.reload();
+    }
+
+    @Test
+    void suggestMatchesGenericAndBrandPrefixesOnce() {
+        assertThat(ids(index.suggest("PARA", 10))).containsExactly(1, 2);
+        assertThat(ids(index.suggest("pan", 10))).containsExactly(1);
+        assertThat(ids(index.suggest("p", 10))).isEmpty(); // below the minimum query length
+        assertThat(ids(index.suggest("para", 1))).hasSize(1);
+    }
+
+    @Test
+    void rankedSuggestConsidersTheWholePrefixRange() {
+        List<MedicineMasterDto> many = new ArrayList<>();
+        for (int i = 1; i <= 200; i++) {
+            many.add(medicine(i, String.format("Pa%03d", i), null, "10 mg", "GSK", "REG-" + i));
+        }
+        when(repository.findAllDtos()).thenReturn(many);
+        snapshot.reload();
+        index.reload();
+
+        // the most popular name sorts last alphabetically; ties keep name order
+        List<MedicineMasterDto> top = index.suggest("pa", 3, id -> id == 200 ? 9 : id == 150 ? 5 : 0);
+
+        assertThat(ids(top)).containsExactly(200, 150, 1);
+        assertThat(ids(index.suggest("pa", 2, id -> 0L))).containsExactly(1, 2);
+    }
+
+    @Test
+    void lookupsKeepAnsweringFromTheOldIndexWhileAReloadRuns() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        MedicineCatalogSnapshotService slowSnapshot = mock(MedicineCatalogSnapshotService.class);
+        when(slowSnapshot.byId(any())).thenAnswer(inv -> snapshot.byId(inv.getArgument(0)));
+        when(slowSnapshot.all()).thenReturn(CATALOG).thenAnswer(inv -> {
+            loading.countDown();
+            finish.await(10, TimeUnit.SECONDS);
+            return List.of(medicine(5, "Paroxetine", "Seroxat", "20 mg", "GSK", "REG-005"));
+        });
+        when(repository.findAllDtos()).thenReturn(List.of(medicine(5, "Paroxetine", "Seroxat", "20 mg", "GSK", "REG-005")));
+        MedicineSearchIndexServiceImpl index = new MedicineSearchIndexServiceImpl(slowSnapshot);
+        index.reload();
+
+        Thread reload = new Thread(index::reload);
+        reload.start();
+        assertThat(loading.await(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(ids(index.suggest("para", 10))).containsExactly(1, 2);
+        assertThat(ids(index.search("ibuprofen", 10))).containsExactly(4);
+
+        finish.countDown();
+        reload.join(10_000);
+        snapshot.reload();
+        assertThat(ids(index.suggest("par", 10))).containsExactly(5);
+    }
+
+    @Test
+    void fuzzyFindsMisspelledNames() {
+        assertThat(ids(index.fuzzy("paracetmol", 10))).containsExactly(1, 2);
+        assertThat(ids(index.fuzzy("amoxycillin", 10))).containsExactly(3);
+        assertThat(ids(index.fuzzy("ibuprofin", 10))).containsExactly(4);
+        assertThat(ids(index.fuzzy("Brufn", 10))).containsExactly(4);
+    }
+
+    @Test
+    void fuzzyRejectsUnrelatedQueries() {
+        assertThat(index.fuzzy("zzzzzz", 10)).isEmpty();
+        assertThat(index.fuzzy("metformin", 10)).isEmpty();
+        assertThat(index.fuzzy("p", 10)).isEmpty(); // below the minimum query length
+        assertThat(index.fuzzy("paracetmol", 0)).isEmpty();
+    }
+
+    @Test
+    void fuzzyRanksTheCloserNameFirst() {
+        when(repository.findAllDtos()).thenReturn(List.of(
+                medicine(10, "Amoxicillin", null, "250 mg", "Beecham", "REG-010"),
+                medicine(11, "Ampicillin", null, "250 mg", "Beecham", "REG-011")));
+        snapshot.reload();
+        index.reload();
+
+        assertThat(ids(index.fuzzy("amoxcillin", 10))).startsWith(10);
+    }
+
+    @Test
+    void containingMatchesMidWordFragments() {
+        assertThat(index.search("cetamol", 10)).isEmpty();
+        assertThat(ids(index.containing("CETAMOL"))).containsExactly(1, 2);
+        assertThat(ids(index.containing("g-00"))).containsExactly(1, 2, 3, 4);
+        assertThat(ids(index.containing("moxi"))).containsExactly(3);
+        assertThat(index.containing("GSK")).isEmpty(); // manufacturer is not part of the substring rule
+        assertThat(index.containing(" ")).isEmpty();
+    }
+
+    @Test
+    void reloadEventRebuildsFromTheReloadedSnapshot() {
+        when(repository.findAllDtos()).thenReturn(List.of(
+                medicine(6, "Cetirizine", "Zyrtec", "10 mg", "UCB", "REG-006")));
+        clearInvocations(repository);
+
+        // listeners run in this order after commit: snapshot (@Order(5)), then index (@Order(6))
+        CatalogChangedEvent reloaded = CatalogChangedEvent.reloaded();
+        index.onCatalogChanged(reloaded);
+        snapshot.onCatalogChanged(reloaded);
+        index.onCatalogReloaded(reloaded);
+
+        assertThat(ids(index.suggest("zyr", 10))).containsExactly(6);
+        assertThat(index.suggest("para", 10)).isEmpty();
+        verify(repository, times(1)).findAllDtos();
+    }
+
+    @Test
+    void singleRowChangesUnindexTheOldValues() {
+        // listeners run in this order after commit: index (@Order(4)), then snapshot (@Order(5))
+        CatalogChangedEvent renamed = CatalogChangedEvent.upserted(
+                medicine(4, "Ibuprofen", "Nurofen", "200 mg", "Reckitt", "REG-004"));
+        index.onCatalogChanged(renamed);
+        snapshot.onCatalogChanged(renamed);
+
+        assertThat(ids(index.suggest("bru", 10))).isEmpty();
+        assertThat(ids(index.suggest("nuro", 10))).containsExactly(4);
+        assertThat(ids(index.search("reckitt 200mg", 10))).containsExactly(4);
+        assertThat(index.search("abbott", 10)).isEmpty();
+
+        CatalogChangedEvent deleted = CatalogChangedEvent.deleted(3);
+        index.onCatalogChanged(deleted);
+        snapshot.onCatalogChanged(deleted);
+
+        assertThat(index.suggest("amox", 10)).isEmpty();
+        assertThat(index.fuzzy("amoxycillin", 10)).isEmpty();
+    }
+
+    @Test
+    void osaDistanceCountsAnAdjacentSwapAsOneEdit() {
+        assertThat(MedicineSearchIndexServiceImpl.osaDistance("paracetamol", "paracetamol")).isZero();
+        assertThat(MedicineSearchIndexServiceImpl.osaDistance("paracetmol", "paracetamol")).isEqualTo(1);
+        assertThat(MedicineSearchIndexServiceImpl.osaDistance("amoxycillin", "amoxicillin")).isEqualTo(1);
+        assertThat(MedicineSearchIndexServiceImpl.osaDistance("ibuprfoen", "ibuprofen")).isEqualTo(1);
+        assertThat(MedicineSearchIndexServiceImpl.osaDistance("", "abc")).isEqualTo(3);
+        assertThat(MedicineSearchIndexServiceImpl.osaDistance("kitten", "sitting")).isEqualTo(3);
+    }
+
+    @Test
+    void trigramsArePaddedPerWord() {
+        assertThat(MedicineSearchIndexServiceImpl.trigrams("ab"))
+                .containsExactly("  a", " ab", "ab ");
+        assertThat(MedicineSearchIndexServiceImpl.trigrams("ab cd"))
+                .containsExactly("  a", " ab", "ab ", "  c", " cd", "cd ");
+        assertThat(MedicineSearchIndexServiceImpl.trigrams("")).isEmpty();
+    }
+
+    static MedicineMasterDto medicine(int id, String generic, String brand, String dosage, String manufacturer,
+                                      String regNo) {
+        return new MedicineMasterDto(id, generic, brand, manufacturer, "Sri Lanka", regNo, "ACTIVE", dosage);
+    }
+
+    static List<Integer> ids(List<MedicineMasterDto> medicines) {
+        return medicines.stream().map(MedicineMasterDto::getId).toList();
+    }
+}
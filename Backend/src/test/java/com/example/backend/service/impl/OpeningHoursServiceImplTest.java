@@ -0,0 +1,65 @@
+package com.example.backend.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.backend.dto.projection.PharmacyHoursRow;
+import com.example.backend.repository.PharmacyRepository;
+
+class OpeningHoursServiceImplTest {
+
+    private static final String WEEKDAYS_9_TO_5 = "{\"weekdays\":{\"open\":\"09:00\",\"close\":\"17:00\"}}";
+
+    // Monday 2026-10-19
+    private static final LocalDateTime MONDAY_NOON = LocalDateTime.of(2026, 10, 19, 12, 0);
+    private static final LocalDateTime MONDAY_NIGHT = LocalDateTime.of(2026, 10, 19, 22, 0);
+
+    private OpeningHoursServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        PharmacyRepository repository = mock(PharmacyRepository.class);
+        when(repository.findAllOpeningHours()).thenReturn(List.of(
+                new PharmacyHoursRow(1, WEEKDAYS_9_TO_5),
+                new PharmacyHoursRow(2, null),
+                new PharmacyHoursRow(3, "{broken")
+        ));
+        service = new OpeningHoursServiceImpl(repository, "Asia/Colombo");
+        service.reload();
+    }
+
+    @Test
+    void pharmaciesWithHoursAreOpenOrClosed() {
+        assertThat(service.isOpenAt(1, MONDAY_NOON)).isTrue();
+        assertThat(service.isOpenAt(1, MONDAY_NIGHT)).isFalse();
+    }
+
+    @Test
+    void pharmaciesWithoutUsableHoursAreUnknown() {
+        assertThat(service.isOpenAt(2, MONDAY_NOON)).isNull();
+        assertThat(service.isOpenAt(3, MONDAY_NOON)).isNull();
+        assertThat(service.isOpenAt(99, MONDAY_NOON)).isNull();
+        assertThat(service.isOpenAt(null, MONDAY_NOON)).isNull();
+    }
+
+    @Test
+    void openFilterOnlyDropsPharmaciesKnownToBeClosed() {
+        assertThat(service.openFilter(false, null)).isNull();
+
+        Predicate<Integer> atNight = service.openFilter(false, MONDAY_NIGHT);
+        assertThat(atNight.test(1)).isFalse();
+        assertThat(atNight.test(2)).isTrue();
+        assertThat(atNight.test(3)).isTrue();
+
+        Predicate<Integer> atNoon = service.openFilter(false, MONDAY_NOON);
+        assertThat(atNoon.test(1)).isTrue();
+    }
+}
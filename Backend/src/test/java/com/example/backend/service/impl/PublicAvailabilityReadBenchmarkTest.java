@@ -0,0 +1,146 @@
+package com.example.backend.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+
+import com.example.backend.dto.response.PublicPharmacyWithInventoryResponse;
+import com.example.backend.entity.MedicineMaster;
+import com.example.backend.entity.Pharmacy;
+import com.example.backend.entity.PharmacyInventoryItem;
+import com.example.backend.repository.PharmacyInventoryRepository;
+import com.example.backend.repository.PharmacyLocationRepository;
+import com.example.backend.repository.PharmacyRepository;
+import com.example.backend.support.TestData;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Read latency of the public listing: the in-memory projection vs. the original entity path
+ * (findAll + an inventory and a location lookup per pharmacy). Prints median latency and statements per read.
+ * The timed comparison is tagged benchmark (mvn test -Pbenchmark); the default run only checks that the
+ * projection serves the same pharmacies without a query.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+class PublicAvailabilityReadBenchmarkTest {
+
+    private static final int PHARMACIES = 200;
+    private static final int MEDICINES = 5;
+    private static final int WARMUP = 5;
+    private static final int RUNS = 20;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    @Autowired
+    private PharmacyRepository pharmacyRepository;
+
+    @Autowired
+    private PharmacyInventoryRepository inventoryRepository;
+
+    @Autowired
+    private PharmacyLocationRepository locationRepository;
+
+    @Test
+    void projectionServesTheEntityPathRowsWithoutQueries() {
+        PublicAvailabilityProjectionServiceImpl projection = seededProjection();
+        List<PublicPharmacyWithInventoryResponse> expected = readThroughEntities();
+
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<PublicPharmacyWithInventoryResponse> projected = projection.snapshot();
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(projected).hasSize(PHARMACIES).containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    @Tag("benchmark")
+    @Test
+    void projectionReadsAreQueryFreeAndFasterThanTheEntityPath() {
+        PublicAvailabilityProjectionServiceImpl projection = seededProjection();
+
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        Measurement entity = measure(statistics, this::readThroughEntities);
+        Measurement projected = measure(statistics, projection::snapshot);
+
+        System.out.printf("public listing, %d pharmacies x %d medicines%n", PHARMACIES, MEDICINES);
+        System.out.printf("  entity path: median %.3f ms, %d statements/read%n", entity.medianMs(), entity.statements());
+        System.out.printf("  projection:  median %.3f ms, %d statements/read%n", projected.medianMs(), projected.statements());
+
+        assertThat(projected.size()).isEqualTo(entity.size()).isEqualTo(PHARMACIES);
+        assertThat(projected.statements()).isZero();
+        assertThat(entity.statements()).isGreaterThan(PHARMACIES);
+        assertThat(projected.medianMs()).isLessThan(entity.medianMs());
+    }
+
+    private PublicAvailabilityProjectionServiceImpl seededProjection() {
+        MedicineMaster[] medicines = new MedicineMaster[MEDICINES];
+        for (int i = 0; i < MEDICINES; i++) {
+            medicines[i] = TestData.medicine(em, "REG-" + i, "Generic " + i, "Brand " + i);
+        }
+        TestData.pharmaciesWithStock(em, PHARMACIES, medicines);
+        em.flush();
+        em.clear();
+
+        OpeningHoursServiceImpl openingHours = new OpeningHoursServiceImpl(pharmacyRepository, "Asia/Colombo");
+        openingHours.reload();
+        PublicAvailabilityProjectionServiceImpl projection =
+                new PublicAvailabilityProjectionServiceImpl(inventoryRepository, openingHours, event -> { });
+        projection.rebuild();
+        return projection;
+    }
+
+    // The listing as it was built before the projection existed
+    private List<PublicPharmacyWithInventoryResponse> readThroughEntities() {
+        List<PublicPharmacyWithInventoryResponse> result = new ArrayList<>();
+        for (Pharmacy pharmacy : pharmacyRepository.findAll()) {
+            List<PharmacyInventoryItem> inventory = inventoryRepository.findByPharmacyOrderByIdDesc(pharmacy);
+            if (inventory.isEmpty()) continue;
+            var location = locationRepository.findByPharmacy(pharmacy);
+            result.add(PublicPharmacyWithInventoryResponse.from(pharmacy, inventory,
+                    location.map(l -> l.getLatitude()).orElse(null),
+                    location.map(l -> l.getLongitude()).orElse(null)));
+        }
+        return result;
+    }
+
+    private record Measurement(double medianMs, long statements, int size) {
+    }
+
+    private Measurement measure(Statistics statistics, Supplier<List<PublicPharmacyWithInventoryResponse>> read) {
+        for (int i = 0; i < WARMUP; i++) {
+            read.get();
+            em.clear();
+        }
+        long[] nanos = new long[RUNS];
+        long statements = 0;
+        int size = 0;
+        for (int i = 0; i < RUNS; i++) {
+            statistics.clear();
+            long start = System.nanoTime();
+            size = read.get().size();
+            nanos[i] = System.nanoTime() - start;
+            statements += statistics.getPrepareStatementCount();
+            em.clear(); // every read starts with a cold persistence context, as a request would
+        }
+        Arrays.sort(nanos);
+        return new Measurement(nanos[RUNS / 2] / 1e6, statements / RUNS, size);
+    }
+}
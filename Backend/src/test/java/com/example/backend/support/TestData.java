@@ -0,0 +1,68 @@
+package com.example.backend.support;
+
+import java.math.BigDecimal;
+
+import com.example.backend.entity.CatalogStatus;
+import com.example.backend.entity.MedicineMaster;
+import com.example.backend.entity.Pharmacy;
+import com.example.backend.entity.PharmacyInventoryItem;
+import com.example.backend.entity.PharmacyLocation;
+import com.example.backend.entity.PharmacyStatus;
+
+import jakarta.persistence.EntityManager;
+
+// Persists minimal catalog / pharmacy rows for repository and service tests
+public final class TestData {
+
+    private TestData() {
+    }
+
+    public static MedicineMaster medicine(EntityManager em, String regNo, String genericName, String brandName) {
+        MedicineMaster m = new MedicineMaster();
+        m.setRegNo(regNo);
+        m.setGenericName(genericName);
+        m.setBrandName(brandName);
+        m.setManufacturer("Manufacturer " + regNo);
+        m.setCountry("Sri Lanka");
+        m.setDosage("500 mg");
+        m.setStatus(CatalogStatus.ACTIVE);
+        em.persist(m);
+        return m;
+    }
+
+    public static Pharmacy pharmacy(EntityManager em, String name, double latitude, double longitude) {
+        Pharmacy p = new Pharmacy();
+        p.setLegalEntityName(name + " (Pvt) Ltd");
+        p.setTradeName(name);
+        p.setEntityType("RETAIL");
+        p.setStatus(PharmacyStatus.APPROVED);
+        em.persist(p);
+
+        PharmacyLocation l = new PharmacyLocation();
+        l.setPharmacy(p);
+        l.setLatitude(latitude);
+        l.setLongitude(longitude);
+        em.persist(l);
+        return p;
+    }
+
+    public static PharmacyInventoryItem stock(EntityManager em, Pharmacy p, MedicineMaster m, int stock) {
+        PharmacyInventoryItem i = new PharmacyInventoryItem();
+        i.setPharmacy(p);
+        i.setMedicine(m);
+        i.setStock(stock);
+        i.setPrice(new BigDecimal("12.50"));
+        em.persist(i);
+        return i;
+    }
+
+    // n pharmacies, each stocking every medicine in medicines
+    public static void pharmaciesWithStock(EntityManager em, int n, MedicineMaster... medicines) {
+        for (int i = 0; i < n; i++) {
+            Pharmacy p = pharmacy(em, "Pharmacy " + i, 6.9 + i * 0.001, 79.8 + i * 0.001);
+            for (int k = 0; k < medicines.length; k++) {
+                stock(em, p, medicines[k], (i + k) % 3 == 0 ? 0 : 10 + k);
+            }
+        }
+    }
+}
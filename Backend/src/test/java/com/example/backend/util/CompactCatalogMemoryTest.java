@@ -0,0 +1,68 @@
+package com.example.backend.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.example.backend.dto.response.MedicineMasterDto;
+
+/**
+ * Measures the retained heap of the compact catalog and of a plain DTO list holding the same rows
+ * (used heap after full GCs, before vs. after building each), and checks the arithmetic estimates
+ * behind /catalog-memory against those measurements. Tagged benchmark: it forces full GCs over 200k rows,
+ * so it only runs with mvn test -Pbenchmark.
+ */
+@Tag("benchmark")
+class CompactCatalogMemoryTest {
+
+    private static final int ROWS = 200_000;
+    private static final String[] DOSAGES = {"250 mg", "500 mg", "5 mg/ml", "10 mg", "1 g", "100 mg/5 ml"};
+
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    @Test
+    void compactCatalogRetainsLessHeapThanADtoList() {
+        long base = usedHeapAfterGc();
+        CompactCatalog compact = CompactCatalog.of(rows());
+        long compactBytes = usedHeapAfterGc() - base;
+
+        base = usedHeapAfterGc();
+        List<MedicineMasterDto> list = rows();
+        long listBytes = usedHeapAfterGc() - base;
+
+        System.out.printf("catalog memory, %d rows: compact %,d bytes (estimated %,d), list %,d bytes (estimated %,d)%n",
+                ROWS, compactBytes, compact.estimatedHeapBytes(), listBytes, compact.estimatedDtoListBytes());
+
+        assertThat(list).hasSize(ROWS);
+        assertThat(compactBytes).isLessThan(listBytes * 3 / 4);
+        assertThat((double) compact.estimatedHeapBytes()).isCloseTo(compactBytes, within(compactBytes * 0.15));
+        assertThat((double) compact.estimatedDtoListBytes()).isCloseTo(listBytes, within(listBytes * 0.15));
+    }
+
+    // one String instance per value and row, as rows mapped from a JDBC result set have
+    private static List<MedicineMasterDto> rows() {
+        List<MedicineMasterDto> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new MedicineMasterDto(i + 1, "Generic " + i % 2000, "Brand " + i,
+                    "Manufacturer " + i % 300, "Country " + i % 30, "REG" + i, "ACTIVE",
+                    new String(DOSAGES[i % DOSAGES.length])));
+        }
+        return rows;
+    }
+
+    private static long usedHeapAfterGc() {
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            used = Math.min(used, MEMORY.getHeapMemoryUsage().getUsed());
+        }
+        return used;
+    }
+}
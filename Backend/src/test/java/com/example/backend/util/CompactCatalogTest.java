@@ -0,0 +1,125 @@
+package com.example.backend.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.backend.dto.response.MedicineMasterDto;
+
+class CompactCatalogTest {
+
+    private static MedicineMasterDto medicine(int id, String manufacturer, String regNo) {
+        return new MedicineMasterDto(id, "Generic " + id, id % 3 == 0 ? null : "Brand " + id, manufacturer,
+                id % 2 == 0 ? "India" : "Sri Lanka", regNo, id % 4 == 0 ? "ARCHIVED" : "ACTIVE", (id % 5) * 100 + " mg");
+    }
+
+    @Test
+    void rowsRoundTripInIdOrder() {
+        List<MedicineMasterDto> rows = List.of(
+                medicine(30, "GSK", "REG-C"), medicine(10, "Cipla", "REG-A"), medicine(20, null, null));
+
+        CompactCatalog c = CompactCatalog.of(rows);
+
+        assertThat(c.size()).isEqualTo(3);
+        assertThat(c.asList()).extracting(MedicineMasterDto::getId).containsExactly(10, 20, 30);
+        assertThat(c.findById(30)).isEqualTo(rows.get(0));
+        assertThat(c.findById(20)).isEqualTo(rows.get(2));
+        assertThat(c.findById(15)).isNull();
+        assertThat(c.findByRegNo("REG-A")).isEqualTo(rows.get(1));
+        assertThat(c.findByRegNo("REG-B")).isNull();
+        assertThat(c.findByRegNo(null)).isNull();
+    }
+
+    @Test
+    void regNoLookupIgnoresCase() {
+        CompactCatalog c = CompactCatalog.of(List.of(medicine(10, "GSK", "N12345"), medicine(20, "GSK", "reg-b")));
+        CompactCatalog edited = c.with(medicine(30, "GSK", "Reg-C"));
+
+        assertThat(c.findByRegNo("n12345").getId()).isEqualTo(10);
+        assertThat(c.findByRegNo("REG-B").getId()).isEqualTo(20);
+        assertThat(c.findByRegNo("reg-b").getRegNo()).isEqualTo("reg-b"); // stored spelling is kept
+        assertThat(edited.findByRegNo("reg-c").getId()).isEqualTo(30);
+        assertThat(edited.findByRegNo("N12345").getId()).isEqualTo(10);
+    }
+
+    @Test
+    void lowCardinalityColumnsAreStoredOnce() {
+        List<MedicineMasterDto> rows = new ArrayList<>();
+        for (int i = 1; i <= 1000; i++) rows.add(medicine(i, "Manufacturer " + i % 7, "REG-" + i));
+
+        CompactCatalog c = CompactCatalog.of(rows);
+
+        assertThat(c.distinctManufacturers()).isEqualTo(7);
+        assertThat(c.distinctCountries()).isEqualTo(2);
+        assertThat(c.distinctDosages()).isEqualTo(5);
+        assertThat(c.estimatedHeapBytes()).isLessThan(c.estimatedDtoListBytes());
+    }
+
+    @Test
+    void withInsertsReplacesAndLeavesTheOriginalUntouched() {
+        CompactCatalog before = CompactCatalog.of(List.of(medicine(10, "GSK", "REG-B"), medicine(30, "GSK", "REG-D")));
+
+        CompactCatalog inserted = before.with(medicine(20, "New Manufacturer", "REG-A"));
+        CompactCatalog replaced = inserted.with(medicine(30, "Cipla", "REG-Z"));
+
+        assertThat(inserted.asList()).extracting(MedicineMasterDto::getId).containsExactly(10, 20, 30);
+        assertThat(inserted.findByRegNo("REG-A").getId()).isEqualTo(20);
+        assertThat(inserted.findByRegNo("REG-D").getId()).isEqualTo(30);
+        assertThat(replaced.findByRegNo("REG-D")).isNull();
+        assertThat(replaced.findByRegNo("REG-Z").getManufacturer()).isEqualTo("Cipla");
+
+        // the published catalog and its dictionaries are not modified
+        assertThat(before.size()).isEqualTo(2);
+        assertThat(before.findById(20)).isNull();
+        assertThat(before.distinctManufacturers()).isEqualTo(1);
+        assertThat(before.findByRegNo("REG-D").getManufacturer()).isEqualTo("GSK");
+    }
+
+    @Test
+    void withoutDropsTheRowAndItsRegNo() {
+        CompactCatalog c = CompactCatalog.of(List.of(
+                medicine(10, "GSK", "REG-C"), medicine(20, "GSK", "REG-A"), medicine(30, "GSK", "REG-B")));
+
+        CompactCatalog removed = c.without(20);
+
+        assertThat(removed.asList()).extracting(MedicineMasterDto::getId).containsExactly(10, 30);
+        assertThat(removed.findByRegNo("REG-A")).isNull();
+        assertThat(removed.findByRegNo("REG-B").getId()).isEqualTo(30);
+        assertThat(removed.findByRegNo("REG-C").getId()).isEqualTo(10);
+        assertThat(c.without(99)).isSameAs(c);
+        assertThat(c.findById(20)).isNotNull();
+    }
+
+    @Test
+    void incrementalEditsMatchAFullRebuild() {
+        Random random = new Random(42);
+        Map<Integer, MedicineMasterDto> expected = new TreeMap<>();
+        CompactCatalog c = CompactCatalog.EMPTY;
+
+        for (int step = 0; step < 2000; step++) {
+            int id = 1 + random.nextInt(300);
+            if (random.nextInt(4) == 0) {
+                expected.remove(id);
+                c = c.without(id);
+            } else {
+                // regNos are unique, as in the database; some sort before and some after the existing ones
+                String regNo = random.nextInt(10) == 0 ? null : "REG-" + random.nextInt(1000) + "-" + step;
+                MedicineMasterDto m = medicine(id, "Manufacturer " + random.nextInt(40), regNo);
+                c = c.with(m);
+                expected.put(id, m);
+            }
+        }
+
+        CompactCatalog rebuilt = CompactCatalog.of(expected.values());
+        assertThat(c.asList()).containsExactlyElementsOf(rebuilt.asList());
+        for (MedicineMasterDto m : expected.values()) {
+            if (m.getRegNo() != null) assertThat(c.findByRegNo(m.getRegNo())).isEqualTo(m);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.backend.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class ContentHashTest {
+
+    @Test
+    void isDeterministicHexSha256() {
+        String hash = ContentHash.of("Paracetamol", "Panadol", "GSK", "UK", "REG-1", "500mg");
+
+        assertThat(hash).matches("[0-9a-f]{64}");
+        assertThat(ContentHash.of("Paracetamol", "Panadol", "GSK", "UK", "REG-1", "500mg")).isEqualTo(hash);
+    }
+
+    @Test
+    void dependsOnFieldOrder() {
+        assertThat(ContentHash.of("a", "b")).isNotEqualTo(ContentHash.of("b", "a"));
+    }
+
+    @Test
+    void fieldBoundariesMatter() {
+        assertThat(ContentHash.of("ab", "c")).isNotEqualTo(ContentHash.of("a", "bc"));
+    }
+
+    @Test
+    void nullAndEmptyHashDifferently() {
+        assertThat(ContentHash.of("a", null)).isNotEqualTo(ContentHash.of("a", ""));
+        assertThat(ContentHash.of("a", null)).isEqualTo(ContentHash.of("a", null));
+    }
+
+    @Test
+    void anyFieldChangeChangesTheHash() {
+        assertThat(ContentHash.of("Paracetamol", "Panadol", "500mg"))
+                .isNotEqualTo(ContentHash.of("Paracetamol", "Panadol", "1000mg"));
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.backend.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class CursorCodecTest {
+
+    @Test
+    void roundTripsKeyValues() {
+        String cursor = CursorCodec.encode("Paracetamol 500mg", 42, "ünïcode/+=");
+
+        assertThat(CursorCodec.decode(cursor, 3)).containsExactly("Paracetamol 500mg", "42", "ünïcode/+=");
+    }
+
+    @Test
+    void cursorIsUrlSafe() {
+        String cursor = CursorCodec.encode("??>>~~", "ÿÿÿ");
+
+        assertThat(cursor).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void nullKeysDecodeAsEmpty() {
+        String[] keys = CursorCodec.decode(CursorCodec.encode(null, "b", null), 3);
+
+        assertThat(keys).containsExactly("", "b", "");
+        assertThat(CursorCodec.decodeInt(keys[0])).isNull();
+    }
+
+    @Test
+    void rejectsWrongKeyCount() {
+        String cursor = CursorCodec.encode("a", "b");
+
+        assertThatThrownBy(() -> CursorCodec.decode(cursor, 3))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    @Test
+    void rejectsGarbage() {
+        assertThatThrownBy(() -> CursorCodec.decode("not base64!", 1))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    @Test
+    void decodesIntKeys() {
+        assertThat(CursorCodec.decodeInt("17")).isEqualTo(17);
+        assertThatThrownBy(() -> CursorCodec.decodeInt("x17"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Invalid cursor");
+    }
+}
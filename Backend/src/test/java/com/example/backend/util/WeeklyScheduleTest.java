@@ -0,0 +1,83 @@
+package com.example.backend.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+class WeeklyScheduleTest {
+
+    // 2026-10-19 is a Monday
+    private static LocalDateTime at(int dayOffset, int hour, int minute) {
+        return LocalDateTime.of(2026, 10, 19, hour, minute).plusDays(dayOffset);
+    }
+
+    @Test
+    void minuteOfWeekStartsOnMondayMidnight() {
+        assertThat(WeeklySchedule.minuteOfWeek(at(0, 0, 0))).isZero();
+        assertThat(WeeklySchedule.minuteOfWeek(at(1, 8, 30))).isEqualTo(WeeklySchedule.MINUTES_PER_DAY + 8 * 60 + 30);
+        assertThat(WeeklySchedule.minuteOfWeek(at(6, 23, 59))).isEqualTo(WeeklySchedule.MINUTES_PER_WEEK - 1);
+    }
+
+    @Test
+    void weekdayHoursAreOpenInclusiveCloseExclusive() {
+        WeeklySchedule s = WeeklySchedule.parse("{\"weekdays\":{\"open\":\"08:00\",\"close\":\"20:00\"}}");
+
+        assertThat(s.isOpenAt(at(0, 7, 59))).isFalse();
+        assertThat(s.isOpenAt(at(0, 8, 0))).isTrue();
+        assertThat(s.isOpenAt(at(4, 19, 59))).isTrue();
+        assertThat(s.isOpenAt(at(4, 20, 0))).isFalse();
+        assertThat(s.isOpenAt(at(5, 12, 0))).isFalse(); // Saturday not listed
+    }
+
+    @Test
+    void overnightHoursRunIntoTheNextDay() {
+        WeeklySchedule s = WeeklySchedule.parse("{\"saturday\":{\"open\":\"22:00\",\"close\":\"02:00\"}}");
+
+        assertThat(s.isOpenAt(at(5, 21, 59))).isFalse();
+        assertThat(s.isOpenAt(at(5, 23, 30))).isTrue();
+        assertThat(s.isOpenAt(at(6, 1, 59))).isTrue();
+        assertThat(s.isOpenAt(at(6, 2, 0))).isFalse();
+    }
+
+    @Test
+    void sundayNightWrapsToMondayMorning() {
+        WeeklySchedule s = WeeklySchedule.parse("{\"sunday\":{\"open\":\"20:00\",\"close\":\"06:00\"}}");
+
+        assertThat(s.isOpenAt(at(6, 23, 0))).isTrue();
+        assertThat(s.isOpenAt(at(0, 0, 0))).isTrue();
+        assertThat(s.isOpenAt(at(0, 5, 59))).isTrue();
+        assertThat(s.isOpenAt(at(0, 6, 0))).isFalse();
+    }
+
+    @Test
+    void overlappingIntervalsAreMerged() {
+        WeeklySchedule s = WeeklySchedule.parse("""
+                {"weekdays":{"open":"08:00","close":"24:00"},"saturday":{"open":"00:00","close":"12:00"}}
+                """);
+
+        // Friday 08:00 until Saturday 12:00 without a gap
+        assertThat(s.isOpenAt(at(4, 23, 59))).isTrue();
+        assertThat(s.isOpenAt(at(5, 0, 0))).isTrue();
+        assertThat(s.isOpenAt(at(5, 12, 0))).isFalse();
+    }
+
+    @Test
+    void blankOrEmptyHoursMeanNoSchedule() {
+        assertThat(WeeklySchedule.parse(null).isAlwaysClosed()).isTrue();
+        assertThat(WeeklySchedule.parse("  ").isAlwaysClosed()).isTrue();
+        assertThat(WeeklySchedule.parse("{\"weekdays\":{\"open\":\"\",\"close\":\"\"}}").isAlwaysClosed()).isTrue();
+        assertThat(WeeklySchedule.parse("{\"weekdays\":{\"open\":\"09:00\",\"close\":\"09:00\"}}").isAlwaysClosed()).isTrue();
+    }
+
+    @Test
+    void strictParseRejectsBadInputAndLenientParseDoesNot() {
+        assertThatThrownBy(() -> WeeklySchedule.parse("{not json")).hasMessageContaining("Invalid opening hours JSON");
+        assertThatThrownBy(() -> WeeklySchedule.parse("{\"weekdays\":{\"open\":\"25:00\",\"close\":\"26:00\"}}"))
+                .hasMessageContaining("Invalid opening time");
+
+        assertThat(WeeklySchedule.parseOrClosed("{not json").isAlwaysClosed()).isTrue();
+    }
+}